@@ -0,0 +1,159 @@
+package arbolSintactico;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mide cuánta memoria asignan los nodos arbol al construir las formas
+ * típicas que arman las acciones de parser.cup (declaraciones, asignaciones,
+ * expresiones binarias, accesos a arreglo, llamadas, listas de sentencias).
+ *
+ * No es parte del compilador: compile.bat no lo compila. Sobre las clases
+ * ya compiladas en bin:
+ *   javac -cp bin -d bin bench/arbolSintactico/BenchmarkArbol.java
+ *   java -cp bin arbolSintactico.BenchmarkArbol [sentencias] [repeticiones]
+ */
+public class BenchmarkArbol {
+
+    public static void main(String[] args) {
+        int sentencias = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        // Calentamiento (JIT)
+        for (int i = 0; i < 3; i++) {
+            construirPrograma(sentencias / 10);
+        }
+
+        long mejorNanos = Long.MAX_VALUE;
+        long bytes = 0;
+        int nodos = 0;
+        for (int r = 0; r < repeticiones; r++) {
+            long bytesAntes = bytesAsignados();
+            long inicio = System.nanoTime();
+            arbol programa = construirPrograma(sentencias);
+            long nanos = System.nanoTime() - inicio;
+            bytes = bytesAsignados() - bytesAntes;
+            nodos = contarNodos(programa);
+            mejorNanos = Math.min(mejorNanos, nanos);
+        }
+
+        System.out.println("Sentencias:        " + sentencias);
+        System.out.println("Nodos:             " + nodos);
+        if (bytesAsignados() >= 0) {
+            System.out.printf("Bytes asignados:   %d (%.1f por nodo)%n", bytes, (double) bytes / nodos);
+        } else {
+            System.out.println("Bytes asignados:   (no disponible en esta JVM)");
+        }
+        System.out.printf("Mejor tiempo:      %.2f ms%n", mejorNanos / 1_000_000.0);
+    }
+
+    /**
+     * Programa con una mezcla de las sentencias más comunes. Los valores son
+     * Strings ya existentes (como los nombres internados por el lexer), así
+     * que lo medido son solo los nodos y sus listas de hijos.
+     */
+    static arbol construirPrograma(int sentencias) {
+        String[] nombres = {"a", "b", "c", "i", "total", "arr"};
+        String[] literales = {"0", "1", "2", "10", "100"};
+
+        arbol programa = new arbol(TipoNodo.PROGRAM);
+        arbol globales = new arbol(TipoNodo.GLOBALES);
+        arbol funciones = new arbol(TipoNodo.FUNCIONES);
+        arbol main = new arbol(TipoNodo.MAIN, "navidad");
+        arbol bloque = new arbol(TipoNodo.BLOQUE);
+        arbol lista = new arbol(TipoNodo.SENTENCIAS);
+
+        for (int i = 0; i < sentencias; i++) {
+            String nombre = nombres[i % nombres.length];
+            String literal = literales[i % literales.length];
+            switch (i % 5) {
+                case 0: {
+                    // int x = a + 1;
+                    arbol decl = new arbol(TipoNodo.DECL_LOCAL, nombre);
+                    decl.agregarHijo(new arbol(TipoNodo.TIPO, "int"));
+                    decl.agregarHijo(binaria(Operador.SUMA, new arbol(TipoNodo.IDENT, nombre),
+                                             new arbol(TipoNodo.LITERAL_INT, literal)));
+                    lista.agregarHijo(decl);
+                    break;
+                }
+                case 1: {
+                    // x = (a * b) - 2;
+                    arbol asig = new arbol(TipoNodo.ASIGNACION, nombre);
+                    asig.agregarHijo(binaria(Operador.RESTA,
+                            binaria(Operador.MULTIPLICACION, new arbol(TipoNodo.IDENT, nombre),
+                                    new arbol(TipoNodo.IDENT, nombres[(i + 1) % nombres.length])),
+                            new arbol(TipoNodo.LITERAL_INT, literal)));
+                    lista.agregarHijo(asig);
+                    break;
+                }
+                case 2: {
+                    // x = arr[i][1];
+                    arbol acceso = new arbol(TipoNodo.ARRAY_ACCESS, "arr");
+                    acceso.agregarHijo(new arbol(TipoNodo.IDENT, "i"));
+                    acceso.agregarHijo(new arbol(TipoNodo.LITERAL_INT, literal));
+                    arbol asig = new arbol(TipoNodo.ASIGNACION, nombre);
+                    asig.agregarHijo(acceso);
+                    lista.agregarHijo(asig);
+                    break;
+                }
+                case 3: {
+                    // x = f(a, 1);
+                    arbol args = new arbol(TipoNodo.ARGUMENTOS);
+                    args.agregarHijo(new arbol(TipoNodo.IDENT, nombre));
+                    args.agregarHijo(new arbol(TipoNodo.LITERAL_INT, literal));
+                    arbol llamada = new arbol(TipoNodo.LLAMADA, "f");
+                    llamada.agregarHijo(args);
+                    arbol asig = new arbol(TipoNodo.ASIGNACION, nombre);
+                    asig.agregarHijo(llamada);
+                    lista.agregarHijo(asig);
+                    break;
+                }
+                default: {
+                    // return a < 10;
+                    arbol ret = new arbol(TipoNodo.RETURN);
+                    ret.agregarHijo(binaria(Operador.MENOR, new arbol(TipoNodo.IDENT, nombre),
+                                            new arbol(TipoNodo.LITERAL_INT, literal)));
+                    lista.agregarHijo(ret);
+                    break;
+                }
+            }
+        }
+
+        bloque.agregarHijo(lista);
+        main.agregarHijo(bloque);
+        programa.agregarHijo(globales);
+        programa.agregarHijo(funciones);
+        programa.agregarHijo(main);
+        return programa;
+    }
+
+    private static arbol binaria(Operador operador, arbol izquierdo, arbol derecho) {
+        arbol nodo = new arbol(operador);
+        nodo.agregarHijo(izquierdo);
+        nodo.agregarHijo(derecho);
+        return nodo;
+    }
+
+    // Recorrido iterativo (el árbol puede ser muy ancho)
+    private static int contarNodos(arbol raiz) {
+        int total = 0;
+        java.util.ArrayDeque<arbol> pila = new java.util.ArrayDeque<>();
+        pila.push(raiz);
+        while (!pila.isEmpty()) {
+            arbol nodo = pila.pop();
+            total++;
+            for (arbol hijo : nodo.hijos) {
+                pila.push(hijo);
+            }
+        }
+        return total;
+    }
+
+    // Bytes asignados por el hilo actual, o -1 si la JVM no lo informa
+    private static long bytesAsignados() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) mx).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -69,41 +69,41 @@ echo [ÉXITO] sym.java compilado
 echo.
 
 REM =========================================
-REM PASO 3: Compilar arbol.java
+REM PASO 3: Compilar arbol.java, TipoNodo.java, Operador.java, ArbolCompacto.java, VisitanteArbol.java, RecorridoArbol.java, ImpresorArbol.java y EscritorJSON.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 3: Compilar arbol.java
+echo PASO 3: Compilar arbol.java, TipoNodo.java, Operador.java, ArbolCompacto.java, VisitanteArbol.java, RecorridoArbol.java, ImpresorArbol.java y EscritorJSON.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/arbolSintactico/arbol.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/arbolSintactico/arbol.java src/arbolSintactico/TipoNodo.java src/arbolSintactico/Operador.java src/arbolSintactico/ArbolCompacto.java src/arbolSintactico/VisitanteArbol.java src/arbolSintactico/RecorridoArbol.java src/arbolSintactico/ImpresorArbol.java src/arbolSintactico/EscritorJSON.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/arbolSintactico/arbol.java
+javac -cp ".;lib/cup.jar" -d . src/arbolSintactico/arbol.java src/arbolSintactico/TipoNodo.java src/arbolSintactico/Operador.java src/arbolSintactico/ArbolCompacto.java src/arbolSintactico/VisitanteArbol.java src/arbolSintactico/RecorridoArbol.java src/arbolSintactico/ImpresorArbol.java src/arbolSintactico/EscritorJSON.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar arbol.java
+    echo [ERROR] Fallo al compilar arbol.java, TipoNodo.java, Operador.java, ArbolCompacto.java, VisitanteArbol.java, RecorridoArbol.java, ImpresorArbol.java y EscritorJSON.java
     exit /b 1
 )
 
-echo [ÉXITO] arbol.java compilado
+echo [ÉXITO] arbol.java, TipoNodo.java, Operador.java, ArbolCompacto.java, VisitanteArbol.java, RecorridoArbol.java, ImpresorArbol.java y EscritorJSON.java compilados
 echo.
 
 REM =========================================
-REM PASO 4: Compilar Token.java
+REM PASO 4: Compilar Token.java y Log.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 4: Compilar Token.java
+echo PASO 4: Compilar Token.java y Log.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/Token.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/Token.java src/util/Log.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/util/Token.java
+javac -cp ".;lib/cup.jar" -d . src/util/Token.java src/util/Log.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar Token.java
+    echo [ERROR] Fallo al compilar Token.java o Log.java
     exit /b 1
 )
 
@@ -111,129 +111,129 @@ echo [ÉXITO] Token.java compilado
 echo.
 
 REM =========================================
-REM PASO 5: Compilar SymbolTable.java
+REM PASO 5: Compilar SymbolTable.java y sus tablas de identificadores
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 5: Compilar SymbolTable.java
+echo PASO 5: Compilar SymbolTable.java y sus tablas de identificadores
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/SymbolTable.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/Identificador.java src/util/TablaIdentificadores.java src/util/MapaSimbolos.java src/util/EventoTabla.java src/util/HistorialTabla.java src/util/SymbolTable.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/util/SymbolTable.java
+javac -cp ".;lib/cup.jar" -d . src/util/Identificador.java src/util/TablaIdentificadores.java src/util/MapaSimbolos.java src/util/EventoTabla.java src/util/HistorialTabla.java src/util/SymbolTable.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar SymbolTable.java
+    echo [ERROR] Fallo al compilar SymbolTable.java o sus tablas de identificadores
     exit /b 1
 )
 
-echo [ÉXITO] SymbolTable.java compilado
+echo [ÉXITO] SymbolTable.java y tablas de identificadores compilados
 echo.
 
 REM =========================================
-REM PASO 6: Compilar ErrorHandler.java
+REM PASO 6: Compilar ErrorHandler.java y ContextoCompilacion.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 6: Compilar ErrorHandler.java
+echo PASO 6: Compilar ErrorHandler.java y ContextoCompilacion.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/ErrorHandler.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/ErrorHandler.java src/util/ContextoCompilacion.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/util/ErrorHandler.java
+javac -cp ".;lib/cup.jar" -d . src/util/ErrorHandler.java src/util/ContextoCompilacion.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar ErrorHandler.java
+    echo [ERROR] Fallo al compilar ErrorHandler.java o ContextoCompilacion.java
     exit /b 1
 )
 
-echo [ÉXITO] ErrorHandler.java compilado
+echo [ÉXITO] ErrorHandler.java y ContextoCompilacion.java compilados
 echo.
 
 REM =========================================
-REM PASO 7: Compilar CodeGenerator.java
+REM PASO 7: Compilar el código intermedio (codigoIntermedio), PlegadoConstantes.java, el modelo MIPS y CodeGenerator.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 7: Compilar CodeGenerator.java
+echo PASO 7: Compilar el código intermedio (codigoIntermedio), PlegadoConstantes.java, el modelo MIPS y CodeGenerator.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/CodeGenerator.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/codigoIntermedio/OpIR.java src/codigoIntermedio/Cuadrupla.java src/codigoIntermedio/BloqueBasico.java src/codigoIntermedio/GrafoFlujo.java src/codigoIntermedio/GeneradorIR.java src/util/PlegadoConstantes.java src/util/OpMIPS.java src/util/Operando.java src/util/InstruccionMIPS.java src/util/EscritorMIPS.java src/util/OptimizadorMirilla.java src/util/CodeGenerator.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/util/CodeGenerator.java
+javac -cp ".;lib/cup.jar" -d . src/codigoIntermedio/OpIR.java src/codigoIntermedio/Cuadrupla.java src/codigoIntermedio/BloqueBasico.java src/codigoIntermedio/GrafoFlujo.java src/codigoIntermedio/GeneradorIR.java src/util/PlegadoConstantes.java src/util/OpMIPS.java src/util/Operando.java src/util/InstruccionMIPS.java src/util/EscritorMIPS.java src/util/OptimizadorMirilla.java src/util/CodeGenerator.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar CodeGenerator.java
+    echo [ERROR] Fallo al compilar el código intermedio, PlegadoConstantes.java, el modelo MIPS o CodeGenerator.java
     exit /b 1
 )
 
-echo [ÉXITO] CodeGenerator.java compilado
+echo [ÉXITO] Código intermedio, PlegadoConstantes.java, el modelo MIPS y CodeGenerator.java compilados
 echo.
 
 REM =========================================
-REM PASO 8: Compilar AnalizadorSemantico.java
+REM PASO 8: Compilar AnalizadorSemantico.java y PasadaSemantica.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 8: Compilar AnalizadorSemantico.java
+echo PASO 8: Compilar AnalizadorSemantico.java y PasadaSemantica.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/AnalizadorSemantico.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/util/AnalizadorSemantico.java src/util/PasadaSemantica.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/util/AnalizadorSemantico.java
+javac -cp ".;lib/cup.jar" -d . src/util/AnalizadorSemantico.java src/util/PasadaSemantica.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar AnalizadorSemantico.java
+    echo [ERROR] Fallo al compilar AnalizadorSemantico.java o PasadaSemantica.java
     exit /b 1
 )
 
-echo [ÉXITO] AnalizadorSemantico.java compilado
+echo [ÉXITO] AnalizadorSemantico.java y PasadaSemantica.java compilados
 echo.
 
 REM =========================================
-REM PASO 9: Compilar Lexer.java, Parser.java y sym.java
+REM PASO 9: Compilar Lexer.java, FlujoTokens.java, Parser.java y sym.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 9: Compilar Lexer.java, Parser.java y sym.java
+echo PASO 9: Compilar Lexer.java, FlujoTokens.java, Parser.java y sym.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/lexer/Lexer.java src/lexer/Parser.java src/lexer/sym.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/lexer/Lexer.java src/lexer/FlujoTokens.java src/lexer/Parser.java src/lexer/sym.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/lexer/Lexer.java src/lexer/Parser.java src/lexer/sym.java
+javac -cp ".;lib/cup.jar" -d . src/lexer/Lexer.java src/lexer/FlujoTokens.java src/lexer/Parser.java src/lexer/sym.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar Lexer.java, Parser.java o sym.java
+    echo [ERROR] Fallo al compilar Lexer.java, FlujoTokens.java, Parser.java o sym.java
     exit /b 1
 )
 
-echo [ÉXITO] Lexer.java, Parser.java y sym.java compilados
+echo [ÉXITO] Lexer.java, FlujoTokens.java, Parser.java y sym.java compilados
 echo.
 
 REM =========================================
-REM PASO 10: Compilar Main.java
+REM PASO 10: Compilar Artefacto.java, Compilador.java, CompilacionLote.java y Main.java
 REM =========================================
 echo.
 echo ==========================================
-echo PASO 10: Compilar Main.java
+echo PASO 10: Compilar Artefacto.java, Compilador.java, CompilacionLote.java y Main.java
 echo ==========================================
 echo.
-echo Comando: javac -cp ".;lib/cup.jar" -d . src/main/Main.java
+echo Comando: javac -cp ".;lib/cup.jar" -d . src/main/Artefacto.java src/main/Compilador.java src/main/CompilacionLote.java src/main/Main.java
 echo.
 
-javac -cp ".;lib/cup.jar" -d . src/main/Main.java
+javac -cp ".;lib/cup.jar" -d . src/main/Artefacto.java src/main/Compilador.java src/main/CompilacionLote.java src/main/Main.java
 
 if errorlevel 1 (
-    echo [ERROR] Fallo al compilar Main.java
+    echo [ERROR] Fallo al compilar Artefacto.java, Compilador.java, CompilacionLote.java o Main.java
     exit /b 1
 )
 
-echo [ÉXITO] Main.java compilado
+echo [ÉXITO] Artefacto.java, Compilador.java, CompilacionLote.java y Main.java compilados
 echo.
 
 REM =========================================
@@ -0,0 +1,293 @@
+package arbolSintactico;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Árbol sintáctico guardado como arreglos paralelos (un índice por nodo).
+ * Cada nodo ocupa unos 34 bytes (clase, operador, valor internado, primer
+ * hijo, siguiente hermano, último hijo, línea, columna y las dos
+ * anotaciones semánticas) en lugar de un
+ * objeto arbol con su ArrayList de hijos, y los valores repetidos
+ * (identificadores, literales, tipos) se guardan una sola vez.
+ *
+ * vista() devuelve nodos arbol de solo lectura que leen de los arreglos,
+ * así que ImpresorArbol, EscritorJSON, el análisis semántico y el generador
+ * de código funcionan sin cambios. Las vistas se crean al recorrer y no se
+ * conservan: el único dato persistente son los arreglos.
+ */
+public final class ArbolCompacto {
+    public static final int NINGUNO = -1;              // Sin hijo / hermano / valor / operador
+
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final TipoNodo[] TIPOS = TipoNodo.values();
+    private static final Operador[] OPERADORES = Operador.values();
+
+    private byte[] tipos;                // ordinal de TipoNodo
+    private byte[] operadores;           // ordinal de Operador, o NINGUNO
+    private int[] valores;               // índice en tablaValores, o NINGUNO si valor == null
+    private int[] primerHijo;
+    private int[] siguienteHermano;
+    private int[] ultimoHijo;            // para agregar hijos al final en O(1)
+    private int[] lineas;
+    private int[] columnas;
+    private int[] tiposDato;             // Anotación semántica: índice en tablaValores, o NINGUNO
+    private int[] declaraciones;         // Anotación semántica: índice del nodo declarado, o NINGUNO
+    private int cantidad;                // Cantidad de nodos
+
+    private String[] tablaValores;       // Valores distintos, en orden de aparición
+    private int cantidadValores;
+    private final Map<String, Integer> indiceValores;
+
+    public ArbolCompacto() {
+        this.tipos = new byte[CAPACIDAD_INICIAL];
+        this.operadores = new byte[CAPACIDAD_INICIAL];
+        this.valores = new int[CAPACIDAD_INICIAL];
+        this.primerHijo = new int[CAPACIDAD_INICIAL];
+        this.siguienteHermano = new int[CAPACIDAD_INICIAL];
+        this.ultimoHijo = new int[CAPACIDAD_INICIAL];
+        this.lineas = new int[CAPACIDAD_INICIAL];
+        this.columnas = new int[CAPACIDAD_INICIAL];
+        this.tiposDato = new int[CAPACIDAD_INICIAL];
+        this.declaraciones = new int[CAPACIDAD_INICIAL];
+        this.cantidad = 0;
+        this.tablaValores = new String[CAPACIDAD_INICIAL];
+        this.cantidadValores = 0;
+        this.indiceValores = new HashMap<>();
+    }
+
+    /**
+     * Copia un árbol de objetos (recorrido iterativo en preorden; la raíz
+     * queda en el índice 0). Las anotaciones semánticas no se copian: el
+     * análisis se hace después, sobre las vistas.
+     */
+    public static ArbolCompacto desde(arbol raiz) {
+        ArbolCompacto compacto = new ArbolCompacto();
+        if (raiz == null) return compacto;
+
+        Deque<arbol> nodos = new ArrayDeque<>();
+        Deque<Integer> padres = new ArrayDeque<>();
+        nodos.push(raiz);
+        padres.push(NINGUNO);
+        while (!nodos.isEmpty()) {
+            arbol nodo = nodos.pop();
+            int padre = padres.pop();
+            int n = compacto.agregarNodo(nodo.tipoNodo, nodo.operador, nodo.valor, nodo.linea, nodo.columna);
+            if (padre != NINGUNO) {
+                compacto.agregarHijo(padre, n);
+            }
+            // Apilar en orden inverso para sacar los hijos de izquierda a derecha
+            for (int i = nodo.hijos.size() - 1; i >= 0; i--) {
+                nodos.push(nodo.hijos.get(i));
+                padres.push(n);
+            }
+        }
+        compacto.recortar();
+        return compacto;
+    }
+
+    /**
+     * Agrega un nodo sin padre y devuelve su índice.
+     */
+    public int agregarNodo(TipoNodo tipo, Operador operador, String valor, int linea, int columna) {
+        if (cantidad == tipos.length) {
+            crecer();
+        }
+        int n = cantidad++;
+        tipos[n] = (byte) tipo.ordinal();
+        operadores[n] = operador != null ? (byte) operador.ordinal() : NINGUNO;
+        valores[n] = internar(valor);
+        primerHijo[n] = NINGUNO;
+        siguienteHermano[n] = NINGUNO;
+        ultimoHijo[n] = NINGUNO;
+        lineas[n] = linea;
+        columnas[n] = columna;
+        tiposDato[n] = NINGUNO;
+        declaraciones[n] = NINGUNO;
+        return n;
+    }
+
+    /**
+     * Agrega 'hijo' (un nodo sin padre) como último hijo de 'padre'.
+     */
+    public void agregarHijo(int padre, int hijo) {
+        if (primerHijo[padre] == NINGUNO) {
+            primerHijo[padre] = hijo;
+        } else {
+            siguienteHermano[ultimoHijo[padre]] = hijo;
+        }
+        ultimoHijo[padre] = hijo;
+    }
+
+    // Índice de la raíz, o NINGUNO si el árbol está vacío
+    public int raiz() { return cantidad > 0 ? 0 : NINGUNO; }
+    public int tamano() { return cantidad; }
+    public int cantidadValoresDistintos() { return cantidadValores; }
+
+    public TipoNodo tipo(int n) { return TIPOS[tipos[n]]; }
+    public Operador operador(int n) { return operadores[n] != NINGUNO ? OPERADORES[operadores[n]] : null; }
+    public String valor(int n) { return valores[n] != NINGUNO ? tablaValores[valores[n]] : null; }
+    public int linea(int n) { return lineas[n]; }
+    public int columna(int n) { return columnas[n]; }
+    public int primerHijo(int n) { return primerHijo[n]; }
+    public int siguienteHermano(int n) { return siguienteHermano[n]; }
+
+    public String tipoDato(int n) { return tiposDato[n] != NINGUNO ? tablaValores[tiposDato[n]] : null; }
+    public void setTipoDato(int n, String tipoDato) { tiposDato[n] = internar(tipoDato); }
+    public int declaracion(int n) { return declaraciones[n]; }
+    public void setDeclaracion(int n, int declaracion) { declaraciones[n] = declaracion; }
+
+    public int cantidadHijos(int n) {
+        int total = 0;
+        for (int h = primerHijo[n]; h != NINGUNO; h = siguienteHermano[h]) total++;
+        return total;
+    }
+
+    /**
+     * Vista de solo lectura de la raíz (null si el árbol está vacío).
+     */
+    public arbol vista() {
+        return cantidad > 0 ? vista(0) : null;
+    }
+
+    /**
+     * Vista de solo lectura del nodo n.
+     */
+    public arbol vista(int n) {
+        return new Vista(this, n);
+    }
+
+    /**
+     * Ajusta los arreglos a la cantidad de nodos (al terminar de construir).
+     */
+    public void recortar() {
+        int capacidad = Math.max(cantidad, 1);
+        if (capacidad < tipos.length) {
+            redimensionar(capacidad);
+        }
+        if (cantidadValores < tablaValores.length) {
+            tablaValores = Arrays.copyOf(tablaValores, Math.max(cantidadValores, 1));
+        }
+    }
+
+    private int internar(String valor) {
+        if (valor == null) return NINGUNO;
+        Integer indice = indiceValores.get(valor);
+        if (indice != null) return indice;
+        if (cantidadValores == tablaValores.length) {
+            tablaValores = Arrays.copyOf(tablaValores, cantidadValores * 2);
+        }
+        tablaValores[cantidadValores] = valor;
+        indiceValores.put(valor, cantidadValores);
+        return cantidadValores++;
+    }
+
+    private void crecer() {
+        redimensionar(tipos.length * 2);
+    }
+
+    private void redimensionar(int capacidad) {
+        tipos = Arrays.copyOf(tipos, capacidad);
+        operadores = Arrays.copyOf(operadores, capacidad);
+        valores = Arrays.copyOf(valores, capacidad);
+        primerHijo = Arrays.copyOf(primerHijo, capacidad);
+        siguienteHermano = Arrays.copyOf(siguienteHermano, capacidad);
+        ultimoHijo = Arrays.copyOf(ultimoHijo, capacidad);
+        lineas = Arrays.copyOf(lineas, capacidad);
+        columnas = Arrays.copyOf(columnas, capacidad);
+        tiposDato = Arrays.copyOf(tiposDato, capacidad);
+        declaraciones = Arrays.copyOf(declaraciones, capacidad);
+    }
+
+    /**
+     * Nodo arbol que lee sus datos de un ArbolCompacto.
+     * Los hijos se crean al pedirlos; agregarHijo no está permitido y
+     * asignar valor/linea/columna solo cambia la vista, no el árbol. Las
+     * anotaciones semánticas sí se guardan en los arreglos.
+     */
+    private static final class Vista extends arbol {
+        private final ArbolCompacto compacto;
+        private final int indice;
+
+        Vista(ArbolCompacto compacto, int n) {
+            super(compacto.tipo(n), compacto.operador(n), compacto.valor(n),
+                  compacto.linea(n), compacto.columna(n), new HijosVista(compacto, n));
+            this.compacto = compacto;
+            this.indice = n;
+        }
+
+        @Override
+        public String getTipoDato() {
+            return compacto.tipoDato(indice);
+        }
+
+        @Override
+        public void setTipoDato(String tipoDato) {
+            compacto.setTipoDato(indice, tipoDato);
+        }
+
+        @Override
+        public arbol getDeclaracion() {
+            int d = compacto.declaracion(indice);
+            return d != NINGUNO ? compacto.vista(d) : null;
+        }
+
+        @Override
+        public void setDeclaracion(arbol declaracion) {
+            if (declaracion == null) {
+                compacto.setDeclaracion(indice, NINGUNO);
+            } else if (declaracion instanceof Vista && ((Vista) declaracion).compacto == compacto) {
+                compacto.setDeclaracion(indice, ((Vista) declaracion).indice);
+            } else {
+                throw new IllegalArgumentException("La declaración debe ser un nodo del mismo árbol compacto");
+            }
+        }
+
+        @Override
+        public void agregarHijo(arbol hijo) {
+            throw new UnsupportedOperationException("Árbol compacto de solo lectura");
+        }
+    }
+
+    /**
+     * Lista de hijos de una vista; la primera vez que se usa guarda los
+     * índices de los hijos para que get(i) sea O(1).
+     */
+    private static final class HijosVista extends AbstractList<arbol> implements RandomAccess {
+        private final ArbolCompacto compacto;
+        private final int padre;
+        private int[] indices;           // null hasta el primer acceso
+
+        HijosVista(ArbolCompacto compacto, int padre) {
+            this.compacto = compacto;
+            this.padre = padre;
+        }
+
+        private int[] indices() {
+            if (indices == null) {
+                int[] hijos = new int[compacto.cantidadHijos(padre)];
+                int i = 0;
+                for (int h = compacto.primerHijo(padre); h != NINGUNO; h = compacto.siguienteHermano(h)) {
+                    hijos[i++] = h;
+                }
+                indices = hijos;
+            }
+            return indices;
+        }
+
+        @Override
+        public arbol get(int i) {
+            return compacto.vista(indices()[i]);
+        }
+
+        @Override
+        public int size() {
+            return compacto.primerHijo(padre) == NINGUNO ? 0 : indices().length;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package arbolSintactico;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Serializa un árbol sintáctico a JSON directamente sobre un Appendable,
+ * sin construir el texto completo en memoria.
+ * Es un VisitanteArbol: el recorrido usa la pila explícita de
+ * RecorridoArbol, así que árboles muy profundos no desbordan la pila de
+ * llamadas, y puede recorrer el árbol junto con otras pasadas.
+ *
+ * Esquema ARBOL, compacto (igual que arbol.toJSON()):
+ *   {"tipo":"X","valor":"v","hijos":[...]}
+ * Esquema D3 (el que espera d3.hierarchy en arbol_interactivo.html):
+ *   {"name":"X","value":"v","children":[...]}  (value siempre presente)
+ * Formato indentado (el de output/arbol.json): dos espacios por nivel,
+ * un campo por línea y un espacio después de ':'.
+ */
+public final class EscritorJSON implements VisitanteArbol {
+    /**
+     * Nombres de los campos de cada nodo.
+     */
+    public enum Esquema {
+        ARBOL("tipo", "valor", "hijos", false),
+        D3("name", "value", "children", true);
+
+        private final String campoTipo;
+        private final String campoValor;
+        private final String campoHijos;
+        private final boolean valorSiempre;   // Escribir "valor" aunque sea null o vacío
+
+        Esquema(String campoTipo, String campoValor, String campoHijos, boolean valorSiempre) {
+            this.campoTipo = campoTipo;
+            this.campoValor = campoValor;
+            this.campoHijos = campoHijos;
+            this.valorSiempre = valorSiempre;
+        }
+    }
+
+    private final Appendable salida;
+    private final Esquema esquema;
+    private final boolean indentado;
+
+    // Hijos ya escritos de cada nodo abierto, por profundidad
+    private int[] hijosEscritos = new int[32];
+
+    /**
+     * Visitante que escribe en salida el árbol que se recorra.
+     * @param indentado true para JSON legible, false para JSON compacto
+     */
+    public EscritorJSON(Appendable salida, Esquema esquema, boolean indentado) {
+        this.salida = salida;
+        this.esquema = esquema;
+        this.indentado = indentado;
+    }
+
+    /**
+     * Escribe el árbol en salida con el esquema ARBOL.
+     * @param indentado true para JSON legible, false para JSON compacto
+     */
+    public static void escribir(arbol raiz, Appendable salida, boolean indentado) throws IOException {
+        escribir(raiz, salida, Esquema.ARBOL, indentado);
+    }
+
+    /**
+     * Escribe el árbol en salida con el esquema indicado.
+     */
+    public static void escribir(arbol raiz, Appendable salida, Esquema esquema,
+                                boolean indentado) throws IOException {
+        RecorridoArbol.recorrerSalida(raiz, new EscritorJSON(salida, esquema, indentado));
+    }
+
+    // El nivel de indentación de un nodo es el doble de su profundidad
+    @Override
+    public boolean entrar(arbol nodo, int profundidad) {
+        try {
+            if (profundidad > 0) {
+                if (hijosEscritos[profundidad - 1]++ > 0) salida.append(',');
+                nuevaLinea(2 * profundidad);
+            }
+            abrirNodo(nodo, profundidad);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void salir(arbol nodo, int profundidad) {
+        if (nodo.hijos.isEmpty()) return;     // Ya se cerró en abrirNodo
+        try {
+            // Cerrar el arreglo de hijos y el objeto del nodo
+            nuevaLinea(2 * profundidad + 1);
+            salida.append(']');
+            nuevaLinea(2 * profundidad);
+            salida.append('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Escribe "{", los campos tipo y valor y, si tiene hijos, abre el arreglo de hijos
+    private void abrirNodo(arbol nodo, int profundidad) throws IOException {
+        int nivel = 2 * profundidad;
+        salida.append('{');
+        nuevaLinea(nivel + 1);
+        campo(esquema.campoTipo);
+        cadena(nodo.tipo);
+
+        if (esquema.valorSiempre || (nodo.valor != null && !nodo.valor.isEmpty())) {
+            salida.append(',');
+            nuevaLinea(nivel + 1);
+            campo(esquema.campoValor);
+            cadena(nodo.valor);
+        }
+
+        if (nodo.hijos.isEmpty()) {
+            nuevaLinea(nivel);
+            salida.append('}');
+            return;
+        }
+
+        salida.append(',');
+        nuevaLinea(nivel + 1);
+        campo(esquema.campoHijos);
+        salida.append('[');
+        if (profundidad == hijosEscritos.length) {
+            hijosEscritos = Arrays.copyOf(hijosEscritos, profundidad * 2);
+        }
+        hijosEscritos[profundidad] = 0;
+    }
+
+    // "nombre": (con espacio solo en modo indentado)
+    private void campo(String nombre) throws IOException {
+        salida.append('"').append(nombre).append("\":");
+        if (indentado) salida.append(' ');
+    }
+
+    // Salto de línea e indentación (solo en modo indentado)
+    private void nuevaLinea(int nivel) throws IOException {
+        if (!indentado) return;
+        salida.append('\n');
+        for (int i = 0; i < nivel; i++) {
+            salida.append("  ");
+        }
+    }
+
+    // Escribe una cadena JSON escapando \, ", \n, \r y \t
+    private void cadena(String s) throws IOException {
+        salida.append('"');
+        if (s != null) {
+            int inicio = 0;
+            for (int i = 0; i < s.length(); i++) {
+                String escape;
+                switch (s.charAt(i)) {
+                    case '\\': escape = "\\\\"; break;
+                    case '"':  escape = "\\\""; break;
+                    case '\n': escape = "\\n"; break;
+                    case '\r': escape = "\\r"; break;
+                    case '\t': escape = "\\t"; break;
+                    default: continue;
+                }
+                salida.append(s, inicio, i).append(escape);
+                inicio = i + 1;
+            }
+            salida.append(s, inicio, s.length());
+        }
+        salida.append('"');
+    }
+}
@@ -0,0 +1,91 @@
+package arbolSintactico;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Imprime un árbol sintáctico con indentación directamente sobre un
+ * Appendable (Writer, PrintStream, StringBuilder...), en una sola pasada.
+ * Es un VisitanteArbol: el recorrido usa la pila explícita de
+ * RecorridoArbol, así que árboles muy profundos no desbordan la pila de
+ * llamadas, y puede recorrer el árbol junto con otras pasadas.
+ *
+ * Formato de cada línea (igual que arbol.toString()):
+ *   indentación + tipo [valor] (linea,columna)
+ */
+public final class ImpresorArbol implements VisitanteArbol {
+    // Sin límite de profundidad
+    public static final int SIN_LIMITE = -1;
+
+    private final Appendable salida;
+    private final int nivelInicial;
+    private final int profundidadMaxima;
+
+    // Visitante que imprime el árbol completo
+    public ImpresorArbol(Appendable salida) {
+        this(salida, 0, SIN_LIMITE);
+    }
+
+    /**
+     * Visitante que imprime empezando con la indentación de nivelInicial y
+     * hasta profundidadMaxima niveles bajo la raíz (SIN_LIMITE = todos).
+     */
+    public ImpresorArbol(Appendable salida, int nivelInicial, int profundidadMaxima) {
+        this.salida = salida;
+        this.nivelInicial = nivelInicial;
+        this.profundidadMaxima = profundidadMaxima;
+    }
+
+    // Imprime el árbol completo
+    public static void imprimir(arbol raiz, Appendable salida) throws IOException {
+        imprimir(raiz, salida, 0, SIN_LIMITE);
+    }
+
+    // Imprime el árbol hasta profundidadMaxima niveles por debajo de la raíz
+    public static void imprimir(arbol raiz, Appendable salida, int profundidadMaxima) throws IOException {
+        imprimir(raiz, salida, 0, profundidadMaxima);
+    }
+
+    /**
+     * Imprime el árbol empezando con la indentación de nivelInicial.
+     * Los nodos que quedan por debajo de profundidadMaxima no se visitan;
+     * en su lugar se escribe una línea "..." bajo el último nodo impreso.
+     * @param profundidadMaxima niveles a imprimir bajo la raíz (SIN_LIMITE = todos)
+     */
+    public static void imprimir(arbol raiz, Appendable salida, int nivelInicial,
+                                int profundidadMaxima) throws IOException {
+        RecorridoArbol.recorrerSalida(raiz, new ImpresorArbol(salida, nivelInicial, profundidadMaxima));
+    }
+
+    @Override
+    public boolean entrar(arbol nodo, int profundidad) {
+        try {
+            indentar(nivelInicial + profundidad);
+            salida.append(nodo.tipo);
+            if (nodo.valor != null) {
+                salida.append(" [").append(nodo.valor).append(']');
+            }
+            if (nodo.linea > 0) {
+                salida.append(" (").append(Integer.toString(nodo.linea))
+                      .append(',').append(Integer.toString(nodo.columna)).append(')');
+            }
+            salida.append('\n');
+
+            if (!nodo.hijos.isEmpty() && profundidadMaxima != SIN_LIMITE && profundidad >= profundidadMaxima) {
+                // Hijos omitidos por el límite de profundidad
+                indentar(nivelInicial + profundidad + 1);
+                salida.append("...\n");
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Escribe dos espacios por nivel
+    private void indentar(int nivel) throws IOException {
+        for (int i = 0; i < nivel; i++) {
+            salida.append("  ");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package arbolSintactico;
+
+/**
+ * Operador de un nodo OPERACION.
+ * El símbolo es el texto que el parser guardaba en arbol.valor y el que
+ * se sigue mostrando en el árbol y en los mensajes de error.
+ */
+public enum Operador {
+    // Aritméticos (RESTA con un solo hijo es el menos unario)
+    SUMA("+"),
+    RESTA("-"),
+    MULTIPLICACION("*"),
+    DIVISION("/"),
+    DIVISION_ENTERA("//"),
+    MODULO("%"),
+    POTENCIA("^"),
+
+    // Incremento / decremento (unarios, prefijos o sufijos)
+    INCREMENTO("++"),
+    DECREMENTO("--"),
+
+    // Relacionales
+    IGUAL("=="),
+    DISTINTO("!="),
+    MENOR("<"),
+    MENOR_IGUAL("<="),
+    MAYOR(">"),
+    MAYOR_IGUAL(">="),
+
+    // Lógicos
+    AND("AND"),
+    OR("OR"),
+    NOT("NOT");
+
+    private final String simbolo;
+
+    Operador(String simbolo) {
+        this.simbolo = simbolo;
+    }
+
+    public String getSimbolo() { return simbolo; }
+
+    // +, -, *, /, //, % y ^
+    public boolean esAritmetico() {
+        return ordinal() <= POTENCIA.ordinal();
+    }
+
+    // ==, !=, <, <=, > y >=
+    public boolean esRelacional() {
+        return ordinal() >= IGUAL.ordinal() && ordinal() <= MAYOR_IGUAL.ordinal();
+    }
+
+    // AND, OR y NOT
+    public boolean esLogico() {
+        return ordinal() >= AND.ordinal();
+    }
+
+    /**
+     * Operador con el símbolo dado, o null si no corresponde a ninguno.
+     */
+    public static Operador desdeSimbolo(String simbolo) {
+        if (simbolo == null) return null;
+        for (Operador op : values()) {
+            if (op.simbolo.equals(simbolo)) return op;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return simbolo;
+    }
+}
@@ -0,0 +1,124 @@
+package arbolSintactico;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Recorrido en preorden del árbol sintáctico con una pila explícita
+ * (nodo abierto + índice del siguiente hijo), así que la profundidad del
+ * árbol no consume pila de llamadas.
+ *
+ * Varias pasadas de solo lectura pueden recorrer el árbol juntas con
+ * recorrer(raiz, v1, v2, ...): cada nodo se visita una sola vez y cada
+ * visitante ve exactamente los nodos que vería recorriéndolo por separado.
+ */
+public final class RecorridoArbol {
+
+    private RecorridoArbol() {}
+
+    /**
+     * Recorre el árbol llamando a entrar/salir de cada visitante.
+     */
+    public static void recorrer(arbol raiz, VisitanteArbol... visitantes) {
+        if (raiz == null || visitantes.length == 0) return;
+        recorrer(raiz, visitantes.length == 1 ? visitantes[0] : new Fusionado(visitantes));
+    }
+
+    /**
+     * Igual que recorrer, para visitantes que escriben en un Appendable:
+     * propaga la IOException original.
+     */
+    public static void recorrerSalida(arbol raiz, VisitanteArbol... visitantes) throws IOException {
+        try {
+            recorrer(raiz, visitantes);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void recorrer(arbol raiz, VisitanteArbol visitante) {
+        if (!visitante.entrar(raiz, 0) || raiz.hijos.isEmpty()) {
+            visitante.salir(raiz, 0);
+            return;
+        }
+
+        // Nodos abiertos y siguiente hijo a visitar de cada uno;
+        // un nodo en la posición k de la pila tiene profundidad k
+        arbol[] pilaNodos = new arbol[32];
+        int[] pilaIndices = new int[32];
+        int tope = 0;
+        pilaNodos[tope] = raiz;
+        pilaIndices[tope] = 0;
+        tope++;
+
+        while (tope > 0) {
+            arbol nodo = pilaNodos[tope - 1];
+            int i = pilaIndices[tope - 1];
+            if (i < nodo.hijos.size()) {
+                pilaIndices[tope - 1] = i + 1;
+                arbol hijo = nodo.hijos.get(i);
+                if (visitante.entrar(hijo, tope) && !hijo.hijos.isEmpty()) {
+                    if (tope == pilaNodos.length) {
+                        pilaNodos = Arrays.copyOf(pilaNodos, tope * 2);
+                        pilaIndices = Arrays.copyOf(pilaIndices, tope * 2);
+                    }
+                    pilaNodos[tope] = hijo;
+                    pilaIndices[tope] = 0;
+                    tope++;
+                } else {
+                    visitante.salir(hijo, tope);
+                }
+            } else {
+                tope--;
+                pilaNodos[tope] = null;
+                visitante.salir(nodo, tope);
+            }
+        }
+    }
+
+    /**
+     * Reparte cada nodo entre varios visitantes. Si uno devuelve false en
+     * entrar, deja de recibir los nodos de ese subárbol (hasta su salir)
+     * mientras los demás siguen bajando.
+     */
+    private static final class Fusionado implements VisitanteArbol {
+        private static final int ACTIVO = -1;
+
+        private final VisitanteArbol[] visitantes;
+        private final int[] podadoEn;        // Profundidad donde el visitante podó, o ACTIVO
+        private int activos;
+
+        Fusionado(VisitanteArbol[] visitantes) {
+            this.visitantes = visitantes.clone();
+            this.podadoEn = new int[visitantes.length];
+            Arrays.fill(podadoEn, ACTIVO);
+            this.activos = visitantes.length;
+        }
+
+        @Override
+        public boolean entrar(arbol nodo, int profundidad) {
+            for (int v = 0; v < visitantes.length; v++) {
+                if (podadoEn[v] == ACTIVO && !visitantes[v].entrar(nodo, profundidad)) {
+                    podadoEn[v] = profundidad;
+                    activos--;
+                }
+            }
+            return activos > 0;
+        }
+
+        @Override
+        public void salir(arbol nodo, int profundidad) {
+            for (int v = 0; v < visitantes.length; v++) {
+                if (podadoEn[v] == ACTIVO) {
+                    visitantes[v].salir(nodo, profundidad);
+                } else if (podadoEn[v] == profundidad) {
+                    // Fin del subárbol que este visitante no quiso recorrer
+                    visitantes[v].salir(nodo, profundidad);
+                    podadoEn[v] = ACTIVO;
+                    activos++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package arbolSintactico;
+
+/**
+ * Clase de nodo del árbol sintáctico.
+ * Las acciones de parser.cup crean cada nodo con su TipoNodo, de modo que
+ * las fases posteriores despachan con switch sobre el enum en lugar de
+ * comparar Strings. name() coincide con el texto que se muestra en el
+ * árbol impreso y en arbol.json.
+ *
+ * Cada clase indica cuántos hijos suele recibir del parser, para que arbol
+ * reserve exactamente ese espacio (las hojas no reservan nada); -1 indica
+ * una lista de largo variable.
+ */
+public enum TipoNodo {
+    // Estructura del programa
+    PROGRAM(3),
+    GLOBALES(-1),
+    DECL_GLOBAL(2),
+    FUNCIONES(-1),
+    FUNCION(3),
+    PARAMETROS(-1),
+    PARAM(1),
+    MAIN(1),
+    TIPO(0),
+
+    // Sentencias
+    BLOQUE(1),
+    SENTENCIAS(-1),
+    DECL_LOCAL(2),
+    ASIGNACION(1),
+    ASIGNACION_ARRAY(2),
+    DECIDE(2),
+    CASOS(-1),
+    CASO(2),
+    ELSE(1),
+    LOOP(2),
+    EXIT(1),
+    FOR(4),
+    RETURN(1),
+    BREAK(0),
+
+    // Arreglos
+    DIMS(0),
+    ARRAY_INIT(1),
+    FILAS(-1),
+    FILA(1),
+    ELEMENTOS(-1),
+
+    // Expresiones
+    OPERACION(2),
+    IDENT(0),
+    LLAMADA(1),
+    ARGUMENTOS(-1),
+    ARRAY_ACCESS(2),
+    LITERAL_INT(0),
+    LITERAL_FLOAT(0),
+    LITERAL_BOOL(0),
+    LITERAL_CHAR(0),
+    LITERAL_STRING(0);
+
+    private final int hijosEsperados;
+
+    TipoNodo(int hijosEsperados) {
+        this.hijosEsperados = hijosEsperados;
+    }
+
+    /**
+     * Cantidad de hijos que recibe un nodo de esta clase, o -1 si varía
+     * (listas de sentencias, argumentos, parámetros, ...).
+     */
+    public int getHijosEsperados() { return hijosEsperados; }
+}
@@ -0,0 +1,27 @@
+package arbolSintactico;
+
+/**
+ * Pasada sobre el árbol sintáctico que RecorridoArbol recorre en preorden
+ * con una pila explícita.
+ *
+ * Los visitantes que escriben en un Appendable envuelven la IOException en
+ * una UncheckedIOException; RecorridoArbol.recorrerSalida la desenvuelve.
+ */
+public interface VisitanteArbol {
+
+    /**
+     * Se llama al llegar al nodo, antes que a sus hijos.
+     * @param profundidad 0 para la raíz del recorrido
+     * @return false para no visitar los hijos del nodo
+     */
+    default boolean entrar(arbol nodo, int profundidad) {
+        return true;
+    }
+
+    /**
+     * Se llama después de visitar los hijos del nodo (también si entrar
+     * devolvió false).
+     */
+    default void salir(arbol nodo, int profundidad) {
+    }
+}
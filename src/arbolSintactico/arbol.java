@@ -1,36 +1,67 @@
 package arbolSintactico;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class arbol {
-    public String tipo;              // tipo de nodo (PROGRAM, DECL_GLOBAL, TIPO, etc)
+    // Lista compartida de los nodos sin hijos (inmutable)
+    public static final List<arbol> SIN_HIJOS = Collections.emptyList();
+
+    public final String tipo;        // tipo de nodo (PROGRAM, DECL_GLOBAL, TIPO, etc), igual a tipoNodo.name()
+    public final TipoNodo tipoNodo;  // tipo de nodo para despachar con switch
+    public final Operador operador;  // operador de los nodos OPERACION (null en los demás)
     public String valor;             // valor (identificador, literal, etc)
-    public List<arbol> hijos;        // nodos hijos
+    public List<arbol> hijos;        // nodos hijos (SIN_HIJOS hasta agregar el primero)
     public int linea, columna;       // posición en código fuente (opcional)
+
+    // Anotaciones del análisis semántico (null hasta que se analiza el árbol)
+    private String tipoDato;         // tipo resuelto de la expresión o declaración (int, float[]...)
+    private arbol declaracion;       // DECL_*, PARAM o FUNCION a la que se refiere el nodo
     
     // Constructor básico
-    public arbol(String tipo) {
-        this.tipo = tipo;
-        this.valor = null;
-        this.hijos = new ArrayList<>();
-        this.linea = 0;
-        this.columna = 0;
+    public arbol(TipoNodo tipoNodo) {
+        this(tipoNodo, null, 0, 0);
     }
     
     // Constructor con valor
-    public arbol(String tipo, String valor) {
-        this.tipo = tipo;
-        this.valor = valor;
-        this.hijos = new ArrayList<>();
-        this.linea = 0;
-        this.columna = 0;
+    public arbol(TipoNodo tipoNodo, String valor) {
+        this(tipoNodo, valor, 0, 0);
     }
     
     // Constructor con linea y columna
+    public arbol(TipoNodo tipoNodo, String valor, int linea, int columna) {
+        this(tipoNodo, tipoNodo == TipoNodo.OPERACION ? Operador.desdeSimbolo(valor) : null,
+             valor, linea, columna, SIN_HIJOS);
+    }
+    
+    // Constructor de nodos OPERACION; el valor es el símbolo del operador
+    public arbol(Operador operador) {
+        this(TipoNodo.OPERACION, operador, operador.getSimbolo(), 0, 0, SIN_HIJOS);
+    }
+    
+    // Constructores por nombre de tipo (TipoNodo.valueOf)
+    public arbol(String tipo) {
+        this(TipoNodo.valueOf(tipo));
+    }
+    
+    public arbol(String tipo, String valor) {
+        this(TipoNodo.valueOf(tipo), valor);
+    }
+    
     public arbol(String tipo, String valor, int linea, int columna) {
-        this.tipo = tipo;
+        this(TipoNodo.valueOf(tipo), valor, linea, columna);
+    }
+    
+    // Constructor completo (también lo usan las vistas de ArbolCompacto)
+    protected arbol(TipoNodo tipoNodo, Operador operador, String valor, int linea, int columna,
+                    List<arbol> hijos) {
+        this.tipo = tipoNodo.name();
+        this.tipoNodo = tipoNodo;
+        this.operador = operador;
         this.valor = valor;
-        this.hijos = new ArrayList<>();
+        this.hijos = hijos;
         this.linea = linea;
         this.columna = columna;
     }
@@ -38,59 +69,62 @@ public class arbol {
     // Agregar hijo
     public void agregarHijo(arbol hijo) {
         if (hijo != null) {
+            if (this.hijos == SIN_HIJOS) {
+                // Las hojas nunca llegan aquí; los nodos de aridad fija
+                // reservan exactamente sus hijos y las listas crecen
+                int esperados = tipoNodo.getHijosEsperados();
+                this.hijos = esperados > 0 ? new ArrayList<>(esperados) : new ArrayList<>();
+            }
             this.hijos.add(hijo);
         }
     }
     
+    // Tipo resuelto por el análisis semántico (null si no se analizó)
+    public String getTipoDato() {
+        return tipoDato;
+    }
+
+    public void setTipoDato(String tipoDato) {
+        this.tipoDato = tipoDato;
+    }
+
+    // Declaración a la que se refiere un IDENT, ARRAY_ACCESS, ASIGNACION o LLAMADA
+    public arbol getDeclaracion() {
+        return declaracion;
+    }
+
+    public void setDeclaracion(arbol declaracion) {
+        this.declaracion = declaracion;
+    }
+    
     // Convertir a string con indentación
     @Override
     public String toString() {
         return toString(0);
     }
     
+    // Para árboles grandes conviene usar ImpresorArbol directamente sobre un Writer
     public String toString(int nivel) {
-        String indent = "  ".repeat(nivel);
-        String s = indent + tipo + (valor != null ? " [" + valor + "]" : "");
-        if (linea > 0) {
-            s += " (" + linea + "," + columna + ")";
+        StringBuilder sb = new StringBuilder();
+        try {
+            ImpresorArbol.imprimir(this, sb, nivel, ImpresorArbol.SIN_LIMITE);
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
         }
-        s += "\n";
-        
-        for (arbol hijo : hijos) {
-            s += hijo.toString(nivel + 1);
-        }
-        return s;
+        return sb.toString();
     }
     
-    // Convertir a JSON
+    // Convertir a JSON compacto
+    // Para escribir archivos conviene usar EscritorJSON directamente sobre un Writer
     public String toJSON() {
         StringBuilder json = new StringBuilder();
-        json.append("{\"tipo\":\"").append(escaparJSON(tipo)).append("\"");
-        
-        if (valor != null && !valor.isEmpty()) {
-            json.append(",\"valor\":\"").append(escaparJSON(valor)).append("\"");
+        try {
+            EscritorJSON.escribir(this, json, false);
+        } catch (IOException e) {
+            // StringBuilder no lanza IOException
+            throw new UncheckedIOException(e);
         }
-        
-        if (!hijos.isEmpty()) {
-            json.append(",\"hijos\":[");
-            for (int i = 0; i < hijos.size(); i++) {
-                json.append(hijos.get(i).toJSON());
-                if (i < hijos.size() - 1) json.append(",");
-            }
-            json.append("]");
-        }
-        
-        json.append("}");
         return json.toString();
     }
-    
-    // Escapar caracteres especiales para JSON
-    private String escaparJSON(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
-    }
 }
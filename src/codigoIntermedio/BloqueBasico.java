@@ -0,0 +1,55 @@
+package codigoIntermedio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Secuencia de cuadruplas que se ejecuta entera: solo se entra por la
+ * primera (la etiqueta del bloque, si tiene) y solo la última puede saltar.
+ */
+public final class BloqueBasico {
+    private final int numero;                    // Posición en GrafoFlujo.getBloques()
+    private final int etiqueta;                  // Cuadrupla.SIN_ETIQUETA si no es destino de saltos
+    private final List<Cuadrupla> instrucciones = new ArrayList<>();
+    private final List<BloqueBasico> sucesores = new ArrayList<>(2);
+    private final List<BloqueBasico> predecesores = new ArrayList<>(2);
+    private boolean alcanzable = true;
+
+    BloqueBasico(int numero, int etiqueta) {
+        this.numero = numero;
+        this.etiqueta = etiqueta;
+    }
+
+    public int getNumero() { return numero; }
+    public int getEtiqueta() { return etiqueta; }
+    public List<Cuadrupla> getInstrucciones() { return instrucciones; }
+    public List<BloqueBasico> getSucesores() { return sucesores; }
+    public List<BloqueBasico> getPredecesores() { return predecesores; }
+
+    // false si no se llega desde la entrada: solo conserva las cuadruplas de alcance
+    public boolean isAlcanzable() { return alcanzable; }
+
+    // Última cuadrupla, o null si el bloque solo tiene la etiqueta
+    public Cuadrupla getUltima() {
+        return instrucciones.isEmpty() ? null : instrucciones.get(instrucciones.size() - 1);
+    }
+
+    void agregar(Cuadrupla c) {
+        instrucciones.add(c);
+    }
+
+    void enlazar(BloqueBasico sucesor) {
+        sucesores.add(sucesor);
+        sucesor.predecesores.add(this);
+    }
+
+    // Deja solo lo que declara o abre y cierra alcances, y saca al bloque del grafo
+    void descartar() {
+        alcanzable = false;
+        instrucciones.removeIf(c -> !c.op.esDeAlcance());
+        for (BloqueBasico sucesor : sucesores) {
+            sucesor.predecesores.remove(this);
+        }
+        sucesores.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package codigoIntermedio;
+
+import arbolSintactico.Operador;
+
+/**
+ * Instrucción de tres direcciones: op, a lo sumo dos temporales de entrada
+ * (a, b) y un temporal destino, más el nombre de la variable o función y
+ * el valor inmediato o la etiqueta que use la operación.
+ * Los campos que la operación no usa quedan en SIN_TEMPORAL / null / 0.
+ */
+public final class Cuadrupla {
+    public static final int SIN_TEMPORAL = -1;
+    public static final int SIN_ETIQUETA = -1;
+
+    public final OpIR op;
+    public final Operador operador;  // BINARIA y UNARIA
+    public final int destino;        // temporal definido, o SIN_TEMPORAL
+    public final int a, b;           // temporales usados, o SIN_TEMPORAL
+    public final String nombre;      // variable, función, texto del LITERAL u origen de la CONSTANTE
+    public final int valor;          // CONSTANTE, delta de INCREMENTAR, 1 si DECLARAR lleva inicialización
+    public final int etiqueta;       // ETIQUETA y saltos, o SIN_ETIQUETA
+    public final boolean global;     // la variable se declaró con DECL_GLOBAL
+
+    private Cuadrupla(OpIR op, Operador operador, int destino, int a, int b,
+                      String nombre, int valor, int etiqueta, boolean global) {
+        this.op = op;
+        this.operador = operador;
+        this.destino = destino;
+        this.a = a;
+        this.b = b;
+        this.nombre = nombre;
+        this.valor = valor;
+        this.etiqueta = etiqueta;
+        this.global = global;
+    }
+
+    private static Cuadrupla de(OpIR op, int destino, int a, String nombre, int valor, int etiqueta, boolean global) {
+        return new Cuadrupla(op, null, destino, a, SIN_TEMPORAL, nombre, valor, etiqueta, global);
+    }
+
+    public static Cuadrupla constante(int t, int valor, String origen) {
+        return de(OpIR.CONSTANTE, t, SIN_TEMPORAL, origen, valor, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla literal(int t, String texto) {
+        return de(OpIR.LITERAL, t, SIN_TEMPORAL, texto, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla cargar(int t, String variable, boolean global) {
+        return de(OpIR.CARGAR, t, SIN_TEMPORAL, variable, 0, SIN_ETIQUETA, global);
+    }
+
+    public static Cuadrupla binaria(int t, Operador operador, int a, int b) {
+        return new Cuadrupla(OpIR.BINARIA, operador, t, a, b, null, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla unaria(int t, Operador operador, int a) {
+        return new Cuadrupla(OpIR.UNARIA, operador, t, a, SIN_TEMPORAL, null, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla incrementar(int t, String variable, boolean global, int delta) {
+        return de(OpIR.INCREMENTAR, t, SIN_TEMPORAL, variable, delta, SIN_ETIQUETA, global);
+    }
+
+    public static Cuadrupla llamar(int t, String funcion) {
+        return de(OpIR.LLAMAR, t, SIN_TEMPORAL, funcion, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla declarar(String variable, boolean global, boolean inicializada) {
+        return de(OpIR.DECLARAR, SIN_TEMPORAL, SIN_TEMPORAL, variable, inicializada ? 1 : 0, SIN_ETIQUETA, global);
+    }
+
+    public static Cuadrupla guardar(String variable, boolean global, int a) {
+        return de(OpIR.GUARDAR, SIN_TEMPORAL, a, variable, 0, SIN_ETIQUETA, global);
+    }
+
+    public static Cuadrupla imprimir(int a) {
+        return de(OpIR.IMPRIMIR, SIN_TEMPORAL, a, null, 0, SIN_ETIQUETA, false);
+    }
+
+    // a puede ser SIN_TEMPORAL (return sin valor)
+    public static Cuadrupla retornar(int a) {
+        return de(OpIR.RETORNAR, SIN_TEMPORAL, a, null, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla etiqueta(int etiqueta) {
+        return de(OpIR.ETIQUETA, SIN_TEMPORAL, SIN_TEMPORAL, null, 0, etiqueta, false);
+    }
+
+    public static Cuadrupla saltar(int etiqueta) {
+        return de(OpIR.SALTAR, SIN_TEMPORAL, SIN_TEMPORAL, null, 0, etiqueta, false);
+    }
+
+    public static Cuadrupla saltarSiCero(int a, int etiqueta) {
+        return de(OpIR.SALTAR_SI_CERO, SIN_TEMPORAL, a, null, 0, etiqueta, false);
+    }
+
+    public static Cuadrupla saltarSiNoCero(int a, int etiqueta) {
+        return de(OpIR.SALTAR_SI_NO_CERO, SIN_TEMPORAL, a, null, 0, etiqueta, false);
+    }
+
+    public static Cuadrupla abrirBloque() {
+        return de(OpIR.ABRIR_BLOQUE, SIN_TEMPORAL, SIN_TEMPORAL, null, 0, SIN_ETIQUETA, false);
+    }
+
+    public static Cuadrupla cerrarBloque() {
+        return de(OpIR.CERRAR_BLOQUE, SIN_TEMPORAL, SIN_TEMPORAL, null, 0, SIN_ETIQUETA, false);
+    }
+
+    // Nombre con que se muestra la etiqueta n (también en el .asm)
+    public static String nombreEtiqueta(int n) {
+        return "L" + n;
+    }
+
+    @Override
+    public String toString() {
+        switch (op) {
+            case CONSTANTE:         return "t" + destino + " = " + valor;
+            case LITERAL:           return "t" + destino + " = " + nombre;
+            case CARGAR:            return "t" + destino + " = " + nombre;
+            case BINARIA:           return "t" + destino + " = t" + a + " " + operador.getSimbolo() + " t" + b;
+            case UNARIA:            return "t" + destino + " = " + operador.getSimbolo() + " t" + a;
+            case INCREMENTAR:       return "t" + destino + " = " + nombre + (valor >= 0 ? " += " : " -= ") + Math.abs(valor);
+            case LLAMAR:            return "t" + destino + " = call " + nombre;
+            case DECLARAR:          return (global ? "global " : "local ") + nombre;
+            case GUARDAR:           return nombre + " = t" + a;
+            case IMPRIMIR:          return "print t" + a;
+            case RETORNAR:          return a == SIN_TEMPORAL ? "return" : "return t" + a;
+            case ETIQUETA:          return nombreEtiqueta(etiqueta) + ":";
+            case SALTAR:            return "goto " + nombreEtiqueta(etiqueta);
+            case SALTAR_SI_CERO:    return "if t" + a + " == 0 goto " + nombreEtiqueta(etiqueta);
+            case SALTAR_SI_NO_CERO: return "if t" + a + " != 0 goto " + nombreEtiqueta(etiqueta);
+            case ABRIR_BLOQUE:      return "{";
+            case CERRAR_BLOQUE:     return "}";
+            default:                return op.name();
+        }
+    }
+}
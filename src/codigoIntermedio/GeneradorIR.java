@@ -0,0 +1,691 @@
+package codigoIntermedio;
+
+import arbolSintactico.Operador;
+import arbolSintactico.RecorridoArbol;
+import arbolSintactico.TipoNodo;
+import arbolSintactico.VisitanteArbol;
+import arbolSintactico.arbol;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import util.Log;
+import util.PlegadoConstantes;
+
+/**
+ * Traduce el árbol sintáctico (ya anotado por PasadaSemantica) a código de
+ * tres direcciones y arma un GrafoFlujo por unidad: las declaraciones
+ * globales, cada FUNCION y MAIN, en el orden del programa.
+ *
+ * Las expresiones se aplanan en temporales que se usan una sola vez. El
+ * orden de evaluación se decide aquí: cada subexpresión se etiqueta con los
+ * registros que necesita (Sethi-Ullman) y de un operador binario se evalúa
+ * primero el lado más pesado, salvo que alguno tenga llamadas o ++/--.
+ *
+ * Las subexpresiones constantes se pliegan acá mismo, así que una condición
+ * constante deja un salto fijo o ninguno y GrafoFlujo descarta los bloques
+ * que quedan sin entrada. Las funciones a las que no se llega desde MAIN
+ * (ni desde las inicializaciones globales) no se generan.
+ */
+public final class GeneradorIR {
+    private final Consumer<GrafoFlujo> destino; // Recibe cada unidad apenas se termina
+    private final Deque<Integer> salidasCiclo = new ArrayDeque<>(); // Destino de break del ciclo más interno
+    private List<Cuadrupla> codigo;             // Código lineal de la unidad en construcción
+    private int temporales;                     // Temporales de la unidad en construcción
+    private int etiquetas = 0;                  // Las etiquetas no se repiten en todo el programa
+
+    private GeneradorIR(Consumer<GrafoFlujo> destino) {
+        this.destino = destino;
+    }
+
+    /**
+     * Grafos de flujo del programa, en el orden en que se emiten.
+     */
+    public static List<GrafoFlujo> generar(arbol raiz) {
+        List<GrafoFlujo> unidades = new ArrayList<>();
+        generar(raiz, unidades::add);
+        return unidades;
+    }
+
+    /**
+     * Entrega cada grafo a destino en cuanto se arma su unidad, en el orden
+     * del programa; no se guarda ninguno, así que quien los traduce uno por
+     * uno tiene en memoria solo el código intermedio de la unidad en curso.
+     */
+    public static void generar(arbol raiz, Consumer<GrafoFlujo> destino) {
+        if (raiz != null) {
+            new GeneradorIR(destino).programa(raiz);
+        }
+    }
+
+    private void programa(arbol raiz) {
+        if (raiz.tipoNodo != TipoNodo.PROGRAM) {
+            // Un fragmento suelto se genera como si fuera el cuerpo de main
+            iniciarUnidad();
+            sentencia(raiz);
+            cerrarUnidad(TipoNodo.MAIN, "main", raiz);
+            return;
+        }
+        Set<String> alcanzables = funcionesAlcanzables(raiz);
+        for (arbol hijo : raiz.hijos) {
+            switch (hijo.tipoNodo) {
+                case GLOBALES:
+                    globales(hijo);
+                    break;
+                case FUNCIONES:
+                    Log.detalle("  [GENERACIÓN] Analizando funciones definidas");
+                    for (arbol funcion : hijo.hijos) {
+                        if (funcion.tipoNodo != TipoNodo.FUNCION) continue;
+                        if (alcanzables.contains(funcion.valor)) {
+                            funcion(funcion);
+                        } else {
+                            Log.detalle(() -> "  [GENERACIÓN] Función no alcanzable desde navidad, se omite: " + funcion.valor);
+                        }
+                    }
+                    break;
+                case MAIN:
+                    main(hijo);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Funciones alcanzables en el grafo de llamadas cuya raíz son las
+     * LLAMADA de MAIN y de las inicializaciones globales.
+     */
+    private static Set<String> funcionesAlcanzables(arbol raiz) {
+        Map<String, Set<String>> llamadas = new HashMap<>();
+        Set<String> alcanzables = new HashSet<>();
+        Deque<String> pendientes = new ArrayDeque<>();
+        for (arbol hijo : raiz.hijos) {
+            if (hijo.tipoNodo == TipoNodo.FUNCIONES) {
+                for (arbol funcion : hijo.hijos) {
+                    if (funcion.tipoNodo == TipoNodo.FUNCION) {
+                        llamadas.put(funcion.valor, llamadasDe(funcion));
+                    }
+                }
+            } else if (hijo.tipoNodo == TipoNodo.GLOBALES || hijo.tipoNodo == TipoNodo.MAIN) {
+                pendientes.addAll(llamadasDe(hijo));
+            }
+        }
+        while (!pendientes.isEmpty()) {
+            String nombre = pendientes.pop();
+            // Una llamada a una función no definida no agrega nada
+            if (llamadas.containsKey(nombre) && alcanzables.add(nombre)) {
+                pendientes.addAll(llamadas.get(nombre));
+            }
+        }
+        return alcanzables;
+    }
+
+    // Nombres de las funciones llamadas dentro del subárbol
+    private static Set<String> llamadasDe(arbol nodo) {
+        Set<String> nombres = new HashSet<>();
+        RecorridoArbol.recorrer(nodo, new VisitanteArbol() {
+            @Override
+            public boolean entrar(arbol n, int profundidad) {
+                if (n.tipoNodo == TipoNodo.LLAMADA) nombres.add(n.valor);
+                return true;
+            }
+        });
+        return nombres;
+    }
+
+    private void iniciarUnidad() {
+        codigo = new ArrayList<>();
+        temporales = 0;
+    }
+
+    private void cerrarUnidad(TipoNodo tipo, String nombre, arbol origen) {
+        List<Cuadrupla> lineal = codigo;
+        codigo = null;
+        destino.accept(GrafoFlujo.construir(tipo, nombre, origen, lineal, temporales));
+    }
+
+    private void emitir(Cuadrupla c) {
+        codigo.add(c);
+    }
+
+    private int nuevoTemporal() {
+        return temporales++;
+    }
+
+    private int nuevaEtiqueta() {
+        return etiquetas++;
+    }
+
+    // ===== UNIDADES =====
+
+    private void globales(arbol nodo) {
+        Log.detalle("  [GENERACIÓN] Analizando declaraciones globales");
+        iniciarUnidad();
+        for (arbol decl : nodo.hijos) {
+            if (decl.tipoNodo != TipoNodo.DECL_GLOBAL) {
+                sentencia(decl);
+                continue;
+            }
+            Log.detalle(() -> "  [SEMÁNTICA] Declaración global de: " + decl.valor);
+            boolean inicializada = decl.hijos.size() > 1;
+            emitir(Cuadrupla.declarar(decl.valor, true, inicializada));
+            if (inicializada) {
+                emitir(Cuadrupla.guardar(decl.valor, true, expresion(decl.hijos.get(1))));
+            }
+        }
+        cerrarUnidad(TipoNodo.GLOBALES, null, nodo);
+    }
+
+    private void funcion(arbol nodo) {
+        Log.detalle(() -> "  [GENERACIÓN] Función: " + nodo.valor);
+        iniciarUnidad();
+        for (arbol hijo : nodo.hijos) {
+            if (hijo.tipoNodo == TipoNodo.BLOQUE) {
+                sentencia(hijo);
+            }
+        }
+        cerrarUnidad(TipoNodo.FUNCION, nodo.valor, nodo);
+    }
+
+    private void main(arbol nodo) {
+        Log.detalle("  [SEMÁNTICA] Analizando MAIN");
+        iniciarUnidad();
+        for (arbol hijo : nodo.hijos) {
+            sentencia(hijo);
+        }
+        cerrarUnidad(TipoNodo.MAIN, "main", nodo);
+    }
+
+    // ===== SENTENCIAS =====
+
+    private void sentencia(arbol nodo) {
+        if (nodo == null) return;
+        Log.detalle(() -> "  [GENERACIÓN] Procesando nodo: " + nodo.tipo);
+
+        switch (nodo.tipoNodo) {
+            case BLOQUE:
+                emitir(Cuadrupla.abrirBloque());
+                for (arbol hijo : nodo.hijos) {
+                    sentencia(hijo);
+                }
+                emitir(Cuadrupla.cerrarBloque());
+                break;
+            case SENTENCIAS:
+                for (arbol hijo : nodo.hijos) {
+                    if (esExpresionComoSentencia(hijo)) {
+                        // Regla: stmt ::= expr ENDL. Aquí le damos semántica de "print expr".
+                        emitir(Cuadrupla.imprimir(expresion(hijo)));
+                    } else {
+                        sentencia(hijo);
+                    }
+                }
+                break;
+            case DECL_LOCAL: {
+                Log.detalle(() -> "  [SEMÁNTICA] Declaración local: " + nodo.valor);
+                boolean inicializada = nodo.hijos.size() > 1;
+                emitir(Cuadrupla.declarar(nodo.valor, false, inicializada));
+                if (inicializada) {
+                    emitir(Cuadrupla.guardar(nodo.valor, false, expresion(nodo.hijos.get(1))));
+                }
+                break;
+            }
+            case ASIGNACION:
+                Log.detalle(() -> "  [SEMÁNTICA] Asignación a: " + nodo.valor);
+                if (!nodo.hijos.isEmpty()) {
+                    emitir(Cuadrupla.guardar(nodo.valor, esGlobal(nodo), expresion(nodo.hijos.get(0))));
+                }
+                break;
+            case OPERACION:
+            case LITERAL_INT:
+            case LITERAL_BOOL:
+            case IDENT:
+            case LLAMADA:
+                // Expresión cuyo valor no se usa (p. ej. el incremento de un for)
+                expresion(nodo);
+                break;
+            case DECIDE:
+                decide(nodo);
+                break;
+            case LOOP:
+                loop(nodo);
+                break;
+            case FOR:
+                cicloFor(nodo);
+                break;
+            case RETURN:
+                emitir(Cuadrupla.retornar(nodo.hijos.isEmpty() ? Cuadrupla.SIN_TEMPORAL : expresion(nodo.hijos.get(0))));
+                break;
+            case BREAK:
+                if (salidasCiclo.isEmpty()) {
+                    Log.error("[GeneradorIR] break fuera de un ciclo: se ignora");
+                } else {
+                    emitir(Cuadrupla.saltar(salidasCiclo.peek()));
+                }
+                break;
+            default:
+                // Para otros nodos (arreglos, literales float...), procesamos recursivamente
+                for (arbol hijo : nodo.hijos) {
+                    sentencia(hijo);
+                }
+        }
+    }
+
+    private boolean esExpresionComoSentencia(arbol nodo) {
+        if (nodo == null) return false;
+        switch (nodo.tipoNodo) {
+            case OPERACION:
+            case IDENT:
+            case LITERAL_INT:
+            case LITERAL_BOOL:
+            case LLAMADA:
+            case ARRAY_ACCESS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Cada caso salta al siguiente si su condición es 0; el que se ejecuta salta a la salida
+    private void decide(arbol nodo) {
+        int salida = nuevaEtiqueta();
+        for (arbol hijo : nodo.hijos) {
+            if (hijo.tipoNodo == TipoNodo.CASOS) {
+                for (arbol caso : hijo.hijos) {
+                    if (caso.tipoNodo != TipoNodo.CASO) continue;
+                    int siguiente = nuevaEtiqueta();
+                    saltarSi(true, expresion(caso.hijos.get(0)), siguiente);
+                    sentencia(caso.hijos.get(1));
+                    emitir(Cuadrupla.saltar(salida));
+                    emitir(Cuadrupla.etiqueta(siguiente));
+                }
+            } else if (hijo.tipoNodo == TipoNodo.ELSE) {
+                sentencia(hijo.hijos.get(0));
+            }
+        }
+        emitir(Cuadrupla.etiqueta(salida));
+    }
+
+    private void loop(arbol nodo) {
+        int inicio = nuevaEtiqueta();
+        int salida = nuevaEtiqueta();
+        emitir(Cuadrupla.etiqueta(inicio));
+        salidasCiclo.push(salida);
+        for (arbol hijo : nodo.hijos) {
+            if (hijo.tipoNodo == TipoNodo.SENTENCIAS) {
+                sentencia(hijo);
+            } else if (hijo.tipoNodo == TipoNodo.EXIT) {
+                saltarSi(false, expresion(hijo.hijos.get(0)), salida);
+            }
+        }
+        salidasCiclo.pop();
+        emitir(Cuadrupla.saltar(inicio));
+        emitir(Cuadrupla.etiqueta(salida));
+    }
+
+    // Hijos: inicialización, condición, incremento y bloque
+    private void cicloFor(arbol nodo) {
+        int inicio = nuevaEtiqueta();
+        int salida = nuevaEtiqueta();
+        sentencia(nodo.hijos.get(0));
+        emitir(Cuadrupla.etiqueta(inicio));
+        saltarSi(true, expresion(nodo.hijos.get(1)), salida);
+        salidasCiclo.push(salida);
+        sentencia(nodo.hijos.get(3));
+        salidasCiclo.pop();
+        expresion(nodo.hijos.get(2));
+        emitir(Cuadrupla.saltar(inicio));
+        emitir(Cuadrupla.etiqueta(salida));
+    }
+
+    /**
+     * Salto condicional a etiqueta si t es cero (o si no lo es). Con una
+     * condición constante el salto queda incondicional o desaparece, y el
+     * código al que ya no se llega lo descarta GrafoFlujo.
+     */
+    private void saltarSi(boolean siCero, int t, int etiqueta) {
+        Integer valor = constanteAlFinal(t);
+        if (valor == null) {
+            emitir(siCero ? Cuadrupla.saltarSiCero(t, etiqueta) : Cuadrupla.saltarSiNoCero(t, etiqueta));
+            return;
+        }
+        quitarUltima();
+        if ((valor == 0) == siCero) {
+            emitir(Cuadrupla.saltar(etiqueta));
+        }
+    }
+
+    // true si el IDENT o ASIGNACION se refiere a una variable global (según PasadaSemantica)
+    private static boolean esGlobal(arbol nodo) {
+        arbol declaracion = nodo.getDeclaracion();
+        return declaracion != null && declaracion.tipoNodo == TipoNodo.DECL_GLOBAL;
+    }
+
+    // ===== EXPRESIONES =====
+
+    /**
+     * Registros que necesita una subexpresión (etiqueta de Sethi-Ullman) y si
+     * su evaluación tiene efectos (llamadas, ++/--). Se arma una vez por
+     * expresión, con la misma forma que el árbol, porque los nodos de un
+     * árbol compacto se crean al recorrerlo y no sirven como clave.
+     */
+    private static final class Etiqueta {
+        private static final Etiqueta[] SIN_HIJOS = new Etiqueta[0];
+
+        final int necesidad;
+        final boolean efectos;
+        final Etiqueta[] hijos;
+
+        Etiqueta(int necesidad, boolean efectos, Etiqueta[] hijos) {
+            this.necesidad = necesidad;
+            this.efectos = efectos;
+            this.hijos = hijos;
+        }
+    }
+
+    /**
+     * Etiqueta la expresión de abajo hacia arriba con RecorridoArbol: al
+     * salir de cada nodo, las etiquetas de sus hijos son las últimas de la
+     * pila. Sin recursión, así que una suma de miles de términos no agota
+     * la pila de llamadas.
+     */
+    private static Etiqueta etiquetar(arbol raiz) {
+        if (raiz == null) {
+            return new Etiqueta(0, false, Etiqueta.SIN_HIJOS);
+        }
+        Deque<Etiqueta> hechas = new ArrayDeque<>();
+        RecorridoArbol.recorrer(raiz, new VisitanteArbol() {
+            @Override
+            public boolean entrar(arbol nodo, int profundidad) {
+                return !esHoja(nodo);
+            }
+
+            @Override
+            public void salir(arbol nodo, int profundidad) {
+                hechas.push(etiquetarNodo(nodo, hechas));
+            }
+        });
+        return hechas.pop();
+    }
+
+    // Nodos que expresion traduce sin bajar a sus hijos
+    private static boolean esHoja(arbol nodo) {
+        switch (nodo.tipoNodo) {
+            case LITERAL_INT:
+            case LITERAL_BOOL:
+            case IDENT:
+            case LLAMADA:
+                return true;
+            case OPERACION:
+                return nodo.operador == Operador.INCREMENTO || nodo.operador == Operador.DECREMENTO;
+            default:
+                return false;
+        }
+    }
+
+    // Etiqueta de nodo; las de sus hijos están en el tope de hechas (el último hijo arriba)
+    private static Etiqueta etiquetarNodo(arbol nodo, Deque<Etiqueta> hechas) {
+        switch (nodo.tipoNodo) {
+            case LITERAL_INT:
+            case LITERAL_BOOL:
+                // Constantes: el generador no les da registro hasta usarlas
+                return new Etiqueta(nodo.tipoNodo == TipoNodo.LITERAL_INT && !esEntero(nodo.valor) ? 1 : 0,
+                                    false, Etiqueta.SIN_HIJOS);
+            case IDENT:
+                return new Etiqueta(1, false, Etiqueta.SIN_HIJOS);
+            case LLAMADA:
+                return new Etiqueta(1, true, Etiqueta.SIN_HIJOS);
+            default:
+                break;
+        }
+        if (esHoja(nodo)) {
+            return new Etiqueta(1, true, Etiqueta.SIN_HIJOS);       // ++ / --
+        }
+        int n = nodo.hijos.size();
+        if (n == 0) {
+            return new Etiqueta(0, false, Etiqueta.SIN_HIJOS);       // expresion devuelve la constante 0
+        }
+        Etiqueta[] hijos = new Etiqueta[n];
+        for (int i = n - 1; i >= 0; i--) {
+            hijos[i] = hechas.pop();
+        }
+        if (nodo.tipoNodo == TipoNodo.OPERACION && n == 2) {
+            Etiqueta izq = hijos[0];
+            Etiqueta der = hijos[1];
+            int necesidad = izq.necesidad == der.necesidad && izq.necesidad > 0
+                    ? izq.necesidad + 1
+                    : Math.max(izq.necesidad, der.necesidad);
+            return new Etiqueta(necesidad, izq.efectos || der.efectos, hijos);
+        }
+        // Unarios y demás: evalúan sus hijos uno tras otro
+        int necesidad = 0;
+        boolean efectos = false;
+        for (Etiqueta hijo : hijos) {
+            necesidad = Math.max(necesidad, hijo.necesidad);
+            efectos |= hijo.efectos;
+        }
+        return new Etiqueta(necesidad, efectos, hijos);
+    }
+
+    private static boolean esEntero(String valor) {
+        try {
+            Integer.parseInt(valor);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Trabajo pendiente de expresion: evaluar un nodo o, cuando sus hijos ya
+     * dejaron sus temporales en la pila de valores, combinarlos.
+     */
+    private static final class Pendiente {
+        final arbol nodo;
+        final Etiqueta etiqueta;
+        final boolean combinar;
+        final boolean derechoPrimero;    // binario: el lado derecho se evaluó antes
+
+        Pendiente(arbol nodo, Etiqueta etiqueta, boolean combinar, boolean derechoPrimero) {
+            this.nodo = nodo;
+            this.etiqueta = etiqueta;
+            this.combinar = combinar;
+            this.derechoPrimero = derechoPrimero;
+        }
+    }
+
+    /**
+     * Emite las cuadruplas de una expresión y devuelve el temporal con su
+     * valor. Recorre el árbol con una pila de trabajo explícita; las
+     * cuadruplas salen en el mismo orden que en un recorrido recursivo.
+     */
+    private int expresion(arbol raiz) {
+        Deque<Pendiente> pendientes = new ArrayDeque<>();
+        Deque<Integer> valores = new ArrayDeque<>();
+        pendientes.push(new Pendiente(raiz, etiquetar(raiz), false, false));
+        while (!pendientes.isEmpty()) {
+            Pendiente p = pendientes.pop();
+            if (p.combinar) {
+                valores.push(combinar(p, valores));
+            } else {
+                evaluar(p.nodo, p.etiqueta, pendientes, valores);
+            }
+        }
+        return valores.pop();
+    }
+
+    /**
+     * Traduce una hoja y deja su temporal en valores, o agenda los hijos
+     * (el primero a evaluar queda arriba) y después la combinación.
+     */
+    private void evaluar(arbol nodo, Etiqueta etiqueta, Deque<Pendiente> pendientes, Deque<Integer> valores) {
+        if (nodo == null) {
+            valores.push(constante(0, "valor por defecto"));
+            return;
+        }
+
+        switch (nodo.tipoNodo) {
+            case LITERAL_INT: {
+                try {
+                    valores.push(constante(Integer.parseInt(nodo.valor), "literal int"));
+                } catch (NumberFormatException e) {
+                    // Fuera de rango de 32 bits: se deja al ensamblador
+                    int t = nuevoTemporal();
+                    emitir(Cuadrupla.literal(t, nodo.valor));
+                    valores.push(t);
+                }
+                return;
+            }
+            case LITERAL_BOOL: {
+                int v = (nodo.valor != null && nodo.valor.equalsIgnoreCase("true")) ? 1 : 0;
+                valores.push(constante(v, "literal bool"));
+                return;
+            }
+            case IDENT: {
+                int t = nuevoTemporal();
+                emitir(Cuadrupla.cargar(t, nodo.valor, esGlobal(nodo)));
+                valores.push(t);
+                return;
+            }
+            case LLAMADA: {
+                int t = nuevoTemporal();
+                emitir(Cuadrupla.llamar(t, nodo.valor));
+                valores.push(t);
+                return;
+            }
+            case OPERACION: {
+                Operador op = nodo.operador;
+
+                if (op == Operador.INCREMENTO || op == Operador.DECREMENTO) {
+                    // Nota: el parser actual produce i++ / ++i como OPERACION("++") con 1 hijo.
+                    // Aunque el requerimiento es "solo binario", aquí lo tratamos como AZÚCAR
+                    // para i = i + 1 / i = i - 1, porque si no, el FOR se encicla.
+                    arbol operando = nodo.hijos.isEmpty() ? null : nodo.hijos.get(0);
+                    if (operando == null || operando.tipoNodo != TipoNodo.IDENT) {
+                        Log.error("[GeneradorIR] ERROR: '" + op + "' requiere IDENT como operando.");
+                        pendientes.push(new Pendiente(operando, etiquetar(operando), false, false));
+                        return;
+                    }
+                    int t = nuevoTemporal();
+                    emitir(Cuadrupla.incrementar(t, operando.valor, esGlobal(operando),
+                                                 op == Operador.INCREMENTO ? 1 : -1));
+                    valores.push(t);
+                    return;
+                }
+
+                if (nodo.hijos.size() == 2) {
+                    Etiqueta izq = etiqueta.hijos[0];
+                    Etiqueta der = etiqueta.hijos[1];
+                    // El lado más pesado primero: el izquierdo no queda ocupando un registro mientras tanto
+                    boolean derechoPrimero = der.necesidad > izq.necesidad && !izq.efectos && !der.efectos;
+                    pendientes.push(new Pendiente(nodo, etiqueta, true, derechoPrimero));
+                    Pendiente a = new Pendiente(nodo.hijos.get(0), izq, false, false);
+                    Pendiente b = new Pendiente(nodo.hijos.get(1), der, false, false);
+                    pendientes.push(derechoPrimero ? a : b);
+                    pendientes.push(derechoPrimero ? b : a);
+                    return;
+                }
+
+                if (nodo.hijos.size() == 1) {
+                    pendientes.push(new Pendiente(nodo, etiqueta, true, false));
+                    pendientes.push(new Pendiente(nodo.hijos.get(0), etiqueta.hijos[0], false, false));
+                    return;
+                }
+
+                valores.push(constante(0, "valor por defecto"));
+                return;
+            }
+            default: {
+                // Fallback: evaluar hijos y devolver el último (los demás quedan sin usar)
+                int n = nodo.hijos.size();
+                if (n == 0) {
+                    valores.push(constante(0, "valor por defecto"));
+                    return;
+                }
+                pendientes.push(new Pendiente(nodo, etiqueta, true, false));
+                for (int i = n - 1; i >= 0; i--) {
+                    pendientes.push(new Pendiente(nodo.hijos.get(i), etiqueta.hijos[i], false, false));
+                }
+            }
+        }
+    }
+
+    // Saca de valores los temporales de los hijos de p.nodo y devuelve el del nodo
+    private int combinar(Pendiente p, Deque<Integer> valores) {
+        arbol nodo = p.nodo;
+        if (nodo.tipoNodo != TipoNodo.OPERACION) {
+            int ultimo = valores.pop();
+            for (int i = 1; i < nodo.hijos.size(); i++) {
+                valores.pop();
+            }
+            return ultimo;
+        }
+
+        Operador op = nodo.operador;
+        if (nodo.hijos.size() == 2) {
+            int primero = valores.pop();
+            int segundo = valores.pop();
+            int a = p.derechoPrimero ? primero : segundo;
+            int b = p.derechoPrimero ? segundo : primero;
+            Integer va = constanteEnLasDosUltimas(a);
+            Integer vb = constanteEnLasDosUltimas(b);
+            if (va != null && vb != null) {
+                // Con la misma aritmética que el generador de MIPS
+                quitarUltima();
+                quitarUltima();
+                return constante(PlegadoConstantes.operar(op, va, vb), "constante plegada");
+            }
+            int t = nuevoTemporal();
+            emitir(Cuadrupla.binaria(t, op, a, b));
+            return t;
+        }
+
+        int a = valores.pop();
+        Integer va = constanteAlFinal(a);
+        if (va != null && (op == Operador.RESTA || op == Operador.NOT)) {
+            quitarUltima();
+            return constante(PlegadoConstantes.operar(op, va), "constante plegada");
+        }
+        int t = nuevoTemporal();
+        emitir(Cuadrupla.unaria(t, op, a));
+        return t;
+    }
+
+    private int constante(int valor, String origen) {
+        int t = nuevoTemporal();
+        emitir(Cuadrupla.constante(t, valor, origen));
+        return t;
+    }
+
+    /*
+     * Una subexpresión constante ya plegada es una sola CONSTANTE y es lo
+     * último que emitió; las de los dos operandos de un binario son las dos
+     * últimas cuadruplas, en cualquier orden de evaluación.
+     */
+
+    // Valor de t si lo define la última cuadrupla como CONSTANTE, o null
+    private Integer constanteAlFinal(int t) {
+        return constanteEn(codigo.size() - 1, t);
+    }
+
+    // Valor de t si lo define como CONSTANTE una de las dos últimas cuadruplas, o null
+    private Integer constanteEnLasDosUltimas(int t) {
+        Integer valor = constanteEn(codigo.size() - 1, t);
+        return valor != null ? valor : constanteEn(codigo.size() - 2, t);
+    }
+
+    private Integer constanteEn(int i, int t) {
+        if (i < 0) return null;
+        Cuadrupla c = codigo.get(i);
+        return c.op == OpIR.CONSTANTE && c.destino == t ? c.valor : null;
+    }
+
+    private void quitarUltima() {
+        codigo.remove(codigo.size() - 1);
+    }
+}
@@ -0,0 +1,165 @@
+package codigoIntermedio;
+
+import arbolSintactico.TipoNodo;
+import arbolSintactico.arbol;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de flujo de control de una unidad del programa (las declaraciones
+ * globales, una FUNCION o MAIN). Los bloques están en el orden en que se
+ * emiten: el primero es la entrada y, si un bloque no termina en un salto
+ * incondicional, sigue en el siguiente.
+ *
+ * Los bloques a los que no se llega desde la entrada (después de un return
+ * o un break, o detrás de una condición constante) quedan en la lista,
+ * marcados, con solo sus cuadruplas de alcance: el generador las necesita
+ * para llevar los desplazamientos de las variables locales, pero no emite
+ * nada de esos bloques.
+ */
+public final class GrafoFlujo {
+    private final TipoNodo tipo;                 // GLOBALES, FUNCION o MAIN
+    private final String nombre;
+    private final arbol origen;                  // Nodo del árbol del que salió la unidad
+    private final List<BloqueBasico> bloques = new ArrayList<>();
+    private final int cantidadTemporales;
+
+    private GrafoFlujo(TipoNodo tipo, String nombre, arbol origen, int cantidadTemporales) {
+        this.tipo = tipo;
+        this.nombre = nombre;
+        this.origen = origen;
+        this.cantidadTemporales = cantidadTemporales;
+    }
+
+    public TipoNodo getTipo() { return tipo; }
+    public String getNombre() { return nombre; }
+    public arbol getOrigen() { return origen; }
+    public List<BloqueBasico> getBloques() { return bloques; }
+    public int getCantidadTemporales() { return cantidadTemporales; }
+
+    public int getCantidadInalcanzables() {
+        int cantidad = 0;
+        for (BloqueBasico bloque : bloques) {
+            if (!bloque.isAlcanzable()) cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Indica si la ejecución puede llegar al final de la unidad siguiendo de
+     * largo: el último bloque es alcanzable y no termina en return ni en
+     * salto incondicional.
+     */
+    public boolean llegaAlFinal() {
+        if (bloques.isEmpty()) return true;
+        BloqueBasico ultimo = bloques.get(bloques.size() - 1);
+        Cuadrupla ultima = ultimo.getUltima();
+        return ultimo.isAlcanzable() && (ultima == null || !ultima.op.esIncondicional());
+    }
+
+    /**
+     * Parte el código lineal en bloques básicos (cada ETIQUETA abre uno y
+     * cada salto o return cierra el actual) y enlaza los sucesores.
+     */
+    static GrafoFlujo construir(TipoNodo tipo, String nombre, arbol origen,
+                                List<Cuadrupla> codigo, int cantidadTemporales) {
+        GrafoFlujo grafo = new GrafoFlujo(tipo, nombre, origen, cantidadTemporales);
+        Map<Integer, BloqueBasico> porEtiqueta = new HashMap<>();
+        BloqueBasico actual = null;
+        for (Cuadrupla c : codigo) {
+            if (c.op == OpIR.ETIQUETA) {
+                actual = grafo.nuevoBloque(c.etiqueta);
+                porEtiqueta.put(c.etiqueta, actual);
+                continue;
+            }
+            if (actual == null) {
+                actual = grafo.nuevoBloque(Cuadrupla.SIN_ETIQUETA);
+            }
+            actual.agregar(c);
+            if (c.op.terminaBloque()) {
+                actual = null;
+            }
+        }
+
+        for (int i = 0; i < grafo.bloques.size(); i++) {
+            BloqueBasico bloque = grafo.bloques.get(i);
+            Cuadrupla ultima = bloque.getUltima();
+            if (ultima != null && ultima.etiqueta != Cuadrupla.SIN_ETIQUETA) {
+                // Salto: las ETIQUETA no quedan dentro de los bloques
+                BloqueBasico destino = porEtiqueta.get(ultima.etiqueta);
+                if (destino != null) bloque.enlazar(destino);
+            }
+            boolean sigue = ultima == null || !ultima.op.esIncondicional();
+            if (sigue && i + 1 < grafo.bloques.size()) {
+                bloque.enlazar(grafo.bloques.get(i + 1));
+            }
+        }
+        grafo.descartarInalcanzables();
+        return grafo;
+    }
+
+    /**
+     * Recorre los sucesores desde la entrada y descarta los bloques que no
+     * alcanza. El siguiente en orden de un bloque alcanzable que no termina
+     * en salto es su sucesor, así que nunca se descarta.
+     */
+    private void descartarInalcanzables() {
+        if (bloques.isEmpty()) return;
+        boolean[] alcanzado = new boolean[bloques.size()];
+        Deque<BloqueBasico> pendientes = new ArrayDeque<>();
+        alcanzado[0] = true;
+        pendientes.push(bloques.get(0));
+        while (!pendientes.isEmpty()) {
+            for (BloqueBasico sucesor : pendientes.pop().getSucesores()) {
+                if (!alcanzado[sucesor.getNumero()]) {
+                    alcanzado[sucesor.getNumero()] = true;
+                    pendientes.push(sucesor);
+                }
+            }
+        }
+        for (BloqueBasico bloque : bloques) {
+            if (!alcanzado[bloque.getNumero()]) bloque.descartar();
+        }
+    }
+
+    private BloqueBasico nuevoBloque(int etiqueta) {
+        BloqueBasico bloque = new BloqueBasico(bloques.size(), etiqueta);
+        bloques.add(bloque);
+        return bloque;
+    }
+
+    /**
+     * Volcado legible: cada bloque con sus cuadruplas y sus sucesores.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(tipo).append(nombre != null ? " " + nombre : "")
+          .append(" (").append(bloques.size()).append(" bloques, ")
+          .append(cantidadTemporales).append(" temporales");
+        int inalcanzables = getCantidadInalcanzables();
+        if (inalcanzables > 0) sb.append(", ").append(inalcanzables).append(" inalcanzables");
+        sb.append(")\n");
+        for (BloqueBasico bloque : bloques) {
+            sb.append("  B").append(bloque.getNumero());
+            if (bloque.getEtiqueta() != Cuadrupla.SIN_ETIQUETA) {
+                sb.append(" (").append(Cuadrupla.nombreEtiqueta(bloque.getEtiqueta())).append(")");
+            }
+            if (!bloque.isAlcanzable()) sb.append(" inalcanzable");
+            sb.append(":\n");
+            for (Cuadrupla c : bloque.getInstrucciones()) {
+                sb.append("      ").append(c).append('\n');
+            }
+            if (!bloque.getSucesores().isEmpty()) {
+                sb.append("      ->");
+                for (BloqueBasico s : bloque.getSucesores()) sb.append(" B").append(s.getNumero());
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
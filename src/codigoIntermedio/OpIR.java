@@ -0,0 +1,55 @@
+package codigoIntermedio;
+
+/**
+ * Operación de una cuadrupla del código intermedio.
+ *
+ * Las primeras definen un temporal (el destino) y forman las expresiones;
+ * el resto son sentencias y control. Cada temporal se define una vez y se
+ * usa a lo sumo una vez, porque sale de aplanar un árbol de expresión.
+ */
+public enum OpIR {
+    // Expresiones: t = ...
+    CONSTANTE,          // t = valor
+    LITERAL,            // t = texto (entero fuera de 32 bits, lo resuelve el ensamblador)
+    CARGAR,             // t = variable
+    BINARIA,            // t = a op b
+    UNARIA,             // t = op a
+    INCREMENTAR,        // t = (variable += valor), para ++ y --
+    LLAMAR,             // t = llamada a la función nombre
+
+    // Sentencias
+    DECLARAR,           // reserva la variable (global en .data; local en la pila o un $s)
+    GUARDAR,            // variable = a
+    IMPRIMIR,           // imprime a y un salto de línea
+    RETORNAR,           // return [a]
+
+    // Control
+    ETIQUETA,           // etiqueta: (solo en la lista lineal; en el grafo inicia un bloque)
+    SALTAR,             // goto etiqueta
+    SALTAR_SI_CERO,     // if a == 0 goto etiqueta
+    SALTAR_SI_NO_CERO,  // if a != 0 goto etiqueta
+
+    // Alcance de las variables locales de un BLOQUE
+    ABRIR_BLOQUE,
+    CERRAR_BLOQUE;
+
+    // true si la operación asigna el temporal destino
+    public boolean defineTemporal() {
+        return ordinal() <= LLAMAR.ordinal();
+    }
+
+    // true si después de la operación no se sigue a la siguiente en orden
+    public boolean esIncondicional() {
+        return this == SALTAR || this == RETORNAR;
+    }
+
+    // true si la operación solo lleva la cuenta de las variables locales (no calcula nada)
+    public boolean esDeAlcance() {
+        return this == DECLARAR || this == ABRIR_BLOQUE || this == CERRAR_BLOQUE;
+    }
+
+    // true si la operación cierra un bloque básico
+    public boolean terminaBloque() {
+        return this == SALTAR || this == SALTAR_SI_CERO || this == SALTAR_SI_NO_CERO || this == RETORNAR;
+    }
+}
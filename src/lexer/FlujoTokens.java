@@ -0,0 +1,118 @@
+package lexer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import util.Identificador;
+
+/**
+ * Flujo compacto de tokens producido por una sola pasada del Lexer.
+ * Guarda cada token en arreglos paralelos (símbolo, línea, columna, valor)
+ * para que la escritura de tokens.txt y el Parser consuman el mismo resultado
+ * sin volver a leer ni re-tokenizar el archivo fuente.
+ * El token EOF siempre queda almacenado como último elemento.
+ * Para los IDENT se guarda además el id internado del identificador, de
+ * modo que las fases siguientes trabajan con enteros en lugar de Strings.
+ */
+public class FlujoTokens implements Scanner {
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    private int[] simbolos;          // código de terminal (sym.*)
+    private int[] lineas;            // línea 1-based provista por el lexer
+    private int[] columnas;          // columna 1-based provista por el lexer
+    private Object[] valores;        // valor semántico (lexema, literal) o null
+    private int[] idsIdentificador;  // id internado si el token es IDENT, -1 en otro caso
+    private int tamano;              // cantidad de tokens almacenados (incluye EOF)
+    private int cursor;              // siguiente token a entregar al parser
+
+    public FlujoTokens() {
+        this.simbolos = new int[CAPACIDAD_INICIAL];
+        this.lineas = new int[CAPACIDAD_INICIAL];
+        this.columnas = new int[CAPACIDAD_INICIAL];
+        this.valores = new Object[CAPACIDAD_INICIAL];
+        this.idsIdentificador = new int[CAPACIDAD_INICIAL];
+        this.tamano = 0;
+        this.cursor = 0;
+    }
+
+    /**
+     * Lee todos los tokens del lexer hasta EOF (inclusive) en un nuevo flujo.
+     */
+    public static FlujoTokens leer(Lexer lexer) throws IOException {
+        FlujoTokens flujo = new FlujoTokens();
+        flujo.cargar(lexer);
+        return flujo;
+    }
+
+    /**
+     * Descarta el contenido actual y vuelve a llenar el flujo desde el lexer.
+     * Permite reutilizar los arreglos entre compilaciones.
+     */
+    public void cargar(Lexer lexer) throws IOException {
+        tamano = 0;
+        cursor = 0;
+        Symbol token;
+        do {
+            token = lexer.next_token();
+            agregar(token.sym, token.left, token.right, token.value);
+        } while (token.sym != sym.EOF);
+    }
+
+    private void agregar(int simbolo, int linea, int columna, Object valor) {
+        if (tamano == simbolos.length) {
+            int nuevaCapacidad = simbolos.length * 2;
+            simbolos = Arrays.copyOf(simbolos, nuevaCapacidad);
+            lineas = Arrays.copyOf(lineas, nuevaCapacidad);
+            columnas = Arrays.copyOf(columnas, nuevaCapacidad);
+            valores = Arrays.copyOf(valores, nuevaCapacidad);
+            idsIdentificador = Arrays.copyOf(idsIdentificador, nuevaCapacidad);
+        }
+        simbolos[tamano] = simbolo;
+        lineas[tamano] = linea;
+        columnas[tamano] = columna;
+        valores[tamano] = valor;
+        idsIdentificador[tamano] = valor instanceof Identificador ? ((Identificador) valor).getId() : -1;
+        tamano++;
+    }
+
+    /**
+     * Reinicia la lectura para entregar de nuevo los tokens desde el inicio.
+     */
+    public void reiniciar() {
+        cursor = 0;
+    }
+
+    /**
+     * Entrega el siguiente token almacenado al parser.
+     * Se crea un Symbol nuevo en cada llamada porque el parser de CUP
+     * modifica el estado (parse_state) de los símbolos que apila.
+     */
+    @Override
+    public Symbol next_token() {
+        int i = cursor < tamano ? cursor++ : tamano - 1;
+        return new Symbol(simbolos[i], lineas[i], columnas[i], valores[i]);
+    }
+
+    // Cantidad de tokens sin contar el EOF final
+    public int cantidadTokens() {
+        return tamano > 0 ? tamano - 1 : 0;
+    }
+
+    public int getSimbolo(int i) { return simbolos[i]; }
+    public int getLinea(int i) { return lineas[i]; }
+    public int getColumna(int i) { return columnas[i]; }
+    public Object getValor(int i) { return valores[i]; }
+    public int getIdIdentificador(int i) { return idsIdentificador[i]; }
+
+    // Nombre del terminal según la tabla generada por CUP
+    public String getNombre(int i) {
+        int s = simbolos[i];
+        return s >= 0 && s < sym.terminalNames.length ? sym.terminalNames[s] : String.valueOf(s);
+    }
+
+    // Lexema del token tal como se reporta en tokens.txt
+    public String getLexema(int i) {
+        return valores[i] != null ? valores[i].toString() : "";
+    }
+}
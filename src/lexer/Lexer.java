@@ -4,6 +4,9 @@
 
 package lexer;
 import java_cup.runtime.Symbol;
+import util.Log;
+import util.ContextoCompilacion;
+import util.TablaIdentificadores;
 
 
 @SuppressWarnings("fallthrough")
@@ -397,6 +400,20 @@ public class Lexer implements java_cup.runtime.Scanner {
   /** Whether the user-EOF-code has already been executed. */
   private boolean zzEOFDone;
 
+  /* user code: */
+  // Tabla donde se internan los identificadores (ids densos por compilación)
+  private TablaIdentificadores identificadores;
+
+  public void setIdentificadores(TablaIdentificadores identificadores) {
+    this.identificadores = identificadores;
+  }
+
+  // Si no se asignó una tabla, se usa la del contexto de compilación activo
+  private TablaIdentificadores identificadores() {
+    return identificadores != null ? identificadores
+        : ContextoCompilacion.actual().getIdentificadores();
+  }
+
 
   /**
    * Creates a new scanner
@@ -824,7 +841,7 @@ public class Lexer implements java_cup.runtime.Scanner {
       else {
         switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
           case 1:
-            { System.err.println("Error léxico: '" + yytext() +
+            { Log.error("Error léxico: '" + yytext() +
     "' línea " + (yyline+1) + " columna " + (yycolumn+1));
             }
           // fall through
@@ -900,7 +917,8 @@ public class Lexer implements java_cup.runtime.Scanner {
           // fall through
           case 75: break;
           case 16:
-            { return new Symbol(sym.IDENT, yyline+1, yycolumn+1, yytext());
+            { return new Symbol(sym.IDENT, yyline+1, yycolumn+1,
+                identificadores().internar(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead));
             }
           // fall through
           case 76: break;
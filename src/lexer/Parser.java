@@ -7,9 +7,11 @@ package lexer;
 
 import java_cup.runtime.Symbol;
 import arbolSintactico.arbol;
+import arbolSintactico.Operador;
+import arbolSintactico.TipoNodo;
 import java.util.HashMap;
 import java.util.Map;
-import util.AnalizadorSemantico;
+import util.Log;
 import java_cup.runtime.XMLElement;
 
 /** CUP v0.11b 20150326 (SVN rev 63) generated parser.
@@ -560,6 +562,20 @@ public class Parser extends java_cup.runtime.lr_parser {
   public int error_sym() {return 1;}
 
 
+
+    // Los mensajes de recuperación de CUP solo se muestran desde el nivel NORMAL;
+    // los errores ya quedan registrados en ErrorHandler
+    @Override
+    public void report_error(String message, Object info) {
+        if (Log.esNormal()) super.report_error(message, info);
+    }
+
+    @Override
+    protected void report_expected_token_ids() {
+        if (Log.esNormal()) super.report_expected_token_ids();
+    }
+
+
 /** Cup generated class to encapsulate user supplied action code.*/
 @SuppressWarnings({"rawtypes", "unchecked", "unused"})
 class CUP$Parser$actions {
@@ -611,11 +627,10 @@ class CUP$Parser$actions {
 		int ndleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int ndright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol nd = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("PROGRAM");
+		 arbol nodo = new arbol(TipoNodo.PROGRAM);
              if (lg != null) nodo.agregarHijo(lg);
              if (lf != null) nodo.agregarHijo(lf);
              nodo.agregarHijo(nd);
-             AnalizadorSemantico.limpiar();
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("program",0, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -640,7 +655,7 @@ class CUP$Parser$actions {
 		int dgleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int dgright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol dg = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = (lg != null) ? lg : new arbol("GLOBALES");
+		 arbol nodo = (lg != null) ? lg : new arbol(TipoNodo.GLOBALES);
                     nodo.agregarHijo(dg);
                     RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("lista_globales",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -670,10 +685,8 @@ class CUP$Parser$actions {
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
 		Object id = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 arbol nodo = new arbol("DECL_GLOBAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_GLOBAL, id.toString());
                  nodo.agregarHijo(tb);
-                 // ANÁLISIS SEMÁNTICO: Registrar variable global
-                 AnalizadorSemantico.registrarVariableGlobal(id.toString(), tb.valor);
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_global",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -692,13 +705,9 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("DECL_GLOBAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_GLOBAL, id.toString());
                  nodo.agregarHijo(tb);
                  nodo.agregarHijo(e);
-                 // ANÁLISIS SEMÁNTICO: Registrar variable global y validar tipo
-                 AnalizadorSemantico.registrarVariableGlobal(id.toString(), tb.valor);
-                 String tipoExpr = AnalizadorSemantico.obtenerTipoExpresion(e);
-                 AnalizadorSemantico.validarCompatibilidadTipos(tb.valor, tipoExpr, "=");
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_global",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -717,11 +726,9 @@ class CUP$Parser$actions {
 		int aileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int airight = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol ai = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("DECL_GLOBAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_GLOBAL, id.toString());
                  nodo.agregarHijo(tb);
                  nodo.agregarHijo(ai);
-                 // ANÁLISIS SEMÁNTICO: Registrar variable global como arreglo
-                 AnalizadorSemantico.registrarVariableGlobal(id.toString(), tb.valor + "[]");
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_global",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -746,7 +753,7 @@ class CUP$Parser$actions {
 		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol f = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = (lf != null) ? lf : new arbol("FUNCIONES");
+		 arbol nodo = (lf != null) ? lf : new arbol(TipoNodo.FUNCIONES);
                      nodo.agregarHijo(f);
                      RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("lista_funciones",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -769,12 +776,10 @@ class CUP$Parser$actions {
 		int bbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int bbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol bb = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("FUNCION", id.toString());
+		 arbol nodo = new arbol(TipoNodo.FUNCION, id.toString());
              nodo.agregarHijo(tb);
              if (p != null) nodo.agregarHijo(p);
              nodo.agregarHijo(bb);
-             // ANÁLISIS SEMÁNTICO: Registrar función con su tipo de retorno
-             AnalizadorSemantico.registrarFuncion(id.toString(), tb.valor);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("funcion",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -811,8 +816,8 @@ class CUP$Parser$actions {
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object id = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("PARAMETROS");
-                  arbol param = new arbol("PARAM", id.toString());
+		 arbol nodo = new arbol(TipoNodo.PARAMETROS);
+                  arbol param = new arbol(TipoNodo.PARAM, id.toString());
                   param.agregarHijo(tb);
                   nodo.agregarHijo(param);
                   RESULT = nodo; 
@@ -833,7 +838,7 @@ class CUP$Parser$actions {
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object id = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol param = new arbol("PARAM", id.toString());
+		 arbol param = new arbol(TipoNodo.PARAM, id.toString());
                   param.agregarHijo(tb);
                   lp.agregarHijo(param);
                   RESULT = lp; 
@@ -848,7 +853,7 @@ class CUP$Parser$actions {
 		int bbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int bbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol bb = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("MAIN", "navidad");
+		 arbol nodo = new arbol(TipoNodo.MAIN, "navidad");
                   nodo.agregarHijo(bb);
                   RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("navidad_decl",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -859,7 +864,7 @@ class CUP$Parser$actions {
           case 16: // tipo_base ::= T_INT 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("TIPO", "int"); 
+		 RESULT = new arbol(TipoNodo.TIPO, "int"); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("tipo_base",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -868,7 +873,7 @@ class CUP$Parser$actions {
           case 17: // tipo_base ::= T_FLOAT 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("TIPO", "float"); 
+		 RESULT = new arbol(TipoNodo.TIPO, "float"); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("tipo_base",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -877,7 +882,7 @@ class CUP$Parser$actions {
           case 18: // tipo_base ::= T_BOOL 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("TIPO", "bool"); 
+		 RESULT = new arbol(TipoNodo.TIPO, "bool"); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("tipo_base",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -886,7 +891,7 @@ class CUP$Parser$actions {
           case 19: // tipo_base ::= T_CHAR 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("TIPO", "char"); 
+		 RESULT = new arbol(TipoNodo.TIPO, "char"); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("tipo_base",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -895,7 +900,7 @@ class CUP$Parser$actions {
           case 20: // tipo_base ::= T_STRING 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("TIPO", "string"); 
+		 RESULT = new arbol(TipoNodo.TIPO, "string"); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("tipo_base",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -919,7 +924,7 @@ class CUP$Parser$actions {
 		int n2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int n2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		Object n2 = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("DIMS", n1.toString() + "x" + n2.toString());
+		 arbol nodo = new arbol(TipoNodo.DIMS, n1.toString() + "x" + n2.toString());
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("dims2d_opt",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -938,22 +943,9 @@ class CUP$Parser$actions {
 		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol e2 = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("ARRAY_ACCESS", id.toString());
+		 arbol nodo = new arbol(TipoNodo.ARRAY_ACCESS, id.toString());
                 nodo.agregarHijo(e1);
                 nodo.agregarHijo(e2);
-                // ANÁLISIS SEMÁNTICO: Validar que la variable esté declarada
-                if (!AnalizadorSemantico.estaVariableDeclara(id.toString())) {
-                   util.ErrorHandler.agregarErrorSemantico("Variable no declarada: " + id.toString());
-                }
-                // Validar que los índices sean enteros
-                String tipoIdx1 = AnalizadorSemantico.obtenerTipoExpresion(e1);
-                String tipoIdx2 = AnalizadorSemantico.obtenerTipoExpresion(e2);
-                if (!tipoIdx1.equals("int")) {
-                   util.ErrorHandler.agregarErrorSemantico("Índice de arreglo debe ser entero, se recibió " + tipoIdx1);
-                }
-                if (!tipoIdx2.equals("int")) {
-                   util.ErrorHandler.agregarErrorSemantico("Índice de arreglo debe ser entero, se recibió " + tipoIdx2);
-                }
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("arr_access",28, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -966,7 +958,7 @@ class CUP$Parser$actions {
 		int lfleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int lfright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol lf = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("ARRAY_INIT");
+		 arbol nodo = new arbol(TipoNodo.ARRAY_INIT);
               nodo.agregarHijo(lf);
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("arr_init",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -980,7 +972,7 @@ class CUP$Parser$actions {
 		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol f = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("FILAS");
+		 arbol nodo = new arbol(TipoNodo.FILAS);
                  nodo.agregarHijo(f);
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("lista_filas",30, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1010,7 +1002,7 @@ class CUP$Parser$actions {
 		int leleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int leright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol le = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("FILA");
+		 arbol nodo = new arbol(TipoNodo.FILA);
           nodo.agregarHijo(le);
           RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("fila",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1024,7 +1016,7 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("ELEMENTOS");
+		 arbol nodo = new arbol(TipoNodo.ELEMENTOS);
                  nodo.agregarHijo(e);
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("lista_elems",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1054,7 +1046,7 @@ class CUP$Parser$actions {
 		int slleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int slright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol sl = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("BLOQUE");
+		 arbol nodo = new arbol(TipoNodo.BLOQUE);
                  if (sl != null) nodo.agregarHijo(sl);
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("bloque_bloq",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1080,7 +1072,7 @@ class CUP$Parser$actions {
 		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol s = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = (sl != null) ? sl : new arbol("SENTENCIAS");
+		 arbol nodo = (sl != null) ? sl : new arbol(TipoNodo.SENTENCIAS);
                nodo.agregarHijo(s);
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt_list",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1143,7 +1135,7 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("RETURN");
+		 arbol nodo = new arbol(TipoNodo.RETURN);
           nodo.agregarHijo(e);
           RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1154,7 +1146,7 @@ class CUP$Parser$actions {
           case 38: // stmt ::= BREAK ENDL 
             {
               arbol RESULT =null;
-		 RESULT = new arbol("BREAK"); 
+		 RESULT = new arbol(TipoNodo.BREAK); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -1199,7 +1191,7 @@ class CUP$Parser$actions {
 		int bbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int bbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol bb = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("FOR");
+		 arbol nodo = new arbol(TipoNodo.FOR);
           nodo.agregarHijo(a1);
           nodo.agregarHijo(e);
           nodo.agregarHijo(e2);
@@ -1219,10 +1211,8 @@ class CUP$Parser$actions {
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		Object id = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("DECL_LOCAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_LOCAL, id.toString());
                 nodo.agregarHijo(tb);
-                // ANÁLISIS SEMÁNTICO: Registrar variable local
-                AnalizadorSemantico.registrarVariableLocal(id.toString(), tb.valor);
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_local",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1241,13 +1231,9 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("DECL_LOCAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_LOCAL, id.toString());
                 nodo.agregarHijo(tb);
                 nodo.agregarHijo(e);
-                // ANÁLISIS SEMÁNTICO: Registrar variable local y validar tipo
-                AnalizadorSemantico.registrarVariableLocal(id.toString(), tb.valor);
-                String tipoExpr = AnalizadorSemantico.obtenerTipoExpresion(e);
-                AnalizadorSemantico.validarCompatibilidadTipos(tb.valor, tipoExpr, "=");
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_local",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1266,11 +1252,9 @@ class CUP$Parser$actions {
 		int aileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int airight = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ai = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("DECL_LOCAL", id.toString());
+		 arbol nodo = new arbol(TipoNodo.DECL_LOCAL, id.toString());
                 nodo.agregarHijo(tb);
                 nodo.agregarHijo(ai);
-                // ANÁLISIS SEMÁNTICO: Registrar variable local como arreglo
-                AnalizadorSemantico.registrarVariableLocal(id.toString(), tb.valor + "[]");
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decl_local",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1286,18 +1270,9 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("ASIGNACION", id.toString());
+		 arbol nodo = new arbol(TipoNodo.ASIGNACION, id.toString());
                 nodo.agregarHijo(e);
-                // ANÁLISIS SEMÁNTICO: Validar que la variable esté declarada
-                if (!AnalizadorSemantico.estaVariableDeclara(id.toString())) {
-                    util.ErrorHandler.agregarErrorSemantico("Variable no declarada: " + id.toString());
-                }
-            else {
-               String tipoVar = AnalizadorSemantico.obtenerTipoVariable(id.toString());
-               String tipoExpr = AnalizadorSemantico.obtenerTipoExpresion(e);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoVar, tipoExpr, "=");
-            }
-            RESULT = nodo; 
+                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("asignacion",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -1312,24 +1287,10 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("ASIGNACION_ARRAY");
+		 arbol nodo = new arbol(TipoNodo.ASIGNACION_ARRAY);
                 nodo.agregarHijo(aa);
                 nodo.agregarHijo(e);
-                // ANÁLISIS SEMÁNTICO: Validación en arr_access
-            // Validar tipo del elemento del arreglo
-            if (aa != null && aa.valor != null) {
-               String nombreVar = aa.valor;
-               String tipoVar = AnalizadorSemantico.obtenerTipoVariable(nombreVar);
-               if (tipoVar == null) {
-                  util.ErrorHandler.agregarErrorSemantico("Variable de arreglo no declarada: " + nombreVar);
-               } else {
-                  // tipoVar esperado: e.g., "int[]"
-                  String base = tipoVar.endsWith("[]") ? tipoVar.replace("[]", "") : tipoVar;
-                  String tipoExpr = AnalizadorSemantico.obtenerTipoExpresion(e);
-                  AnalizadorSemantico.validarCompatibilidadTipos(base, tipoExpr, "=");
-               }
-            }
-            RESULT = nodo; 
+                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("asignacion",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -1341,7 +1302,7 @@ class CUP$Parser$actions {
 		int dcleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int dcright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
 		arbol dc = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 arbol nodo = new arbol("DECIDE");
+		 arbol nodo = new arbol(TipoNodo.DECIDE);
                  nodo.agregarHijo(dc);
                  RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decide_stmt",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1358,9 +1319,9 @@ class CUP$Parser$actions {
 		int bbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int bbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
 		arbol bb = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 arbol nodo = new arbol("DECIDE");
+		 arbol nodo = new arbol(TipoNodo.DECIDE);
                  nodo.agregarHijo(dc);
-                 arbol elseNodo = new arbol("ELSE");
+                 arbol elseNodo = new arbol(TipoNodo.ELSE);
                  elseNodo.agregarHijo(bb);
                  nodo.agregarHijo(elseNodo);
                  RESULT = nodo; 
@@ -1375,7 +1336,7 @@ class CUP$Parser$actions {
 		int dcleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int dcright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol dc = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("CASOS");
+		 arbol nodo = new arbol(TipoNodo.CASOS);
                   nodo.agregarHijo(dc);
                   RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("decide_casos",34, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1408,7 +1369,7 @@ class CUP$Parser$actions {
 		int bbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int bbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol bb = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("CASO");
+		 arbol nodo = new arbol(TipoNodo.CASO);
                  nodo.agregarHijo(e);
                  nodo.agregarHijo(bb);
                  RESULT = nodo; 
@@ -1426,9 +1387,9 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		 arbol nodo = new arbol("LOOP");
+		 arbol nodo = new arbol(TipoNodo.LOOP);
                if (sl != null) nodo.agregarHijo(sl);
-               arbol salida = new arbol("EXIT");
+               arbol salida = new arbol(TipoNodo.EXIT);
                salida.agregarHijo(e);
                nodo.agregarHijo(salida);
                RESULT = nodo; 
@@ -1458,13 +1419,9 @@ class CUP$Parser$actions {
 		int ealeft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int earight = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ea = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "OR");
+		 arbol nodo = new arbol(Operador.OR);
              nodo.agregarHijo(eo);
              nodo.agregarHijo(ea);
-             // ANÁLISIS SEMÁNTICO: Validar tipos bool
-             String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(eo);
-             String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ea);
-             AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "OR");
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_or",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1492,13 +1449,9 @@ class CUP$Parser$actions {
 		int eeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ee = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "AND");
+		 arbol nodo = new arbol(Operador.AND);
               nodo.agregarHijo(ea);
               nodo.agregarHijo(ee);
-              // ANÁLISIS SEMÁNTICO: Validar tipos bool
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(ea);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ee);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "AND");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_and",17, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1526,13 +1479,9 @@ class CUP$Parser$actions {
 		int erleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int erright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol er = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "==");
+		 arbol nodo = new arbol(Operador.IGUAL);
              nodo.agregarHijo(ee);
              nodo.agregarHijo(er);
-             // ANÁLISIS SEMÁNTICO: Validar igualdad
-             String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(ee);
-             String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(er);
-             AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "==");
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_eq",18, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1548,13 +1497,9 @@ class CUP$Parser$actions {
 		int erleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int erright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol er = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "!=");
+		 arbol nodo = new arbol(Operador.DISTINTO);
              nodo.agregarHijo(ee);
              nodo.agregarHijo(er);
-             // ANÁLISIS SEMÁNTICO: Validar desigualdad
-             String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(ee);
-             String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(er);
-             AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "!=");
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_eq",18, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1582,13 +1527,9 @@ class CUP$Parser$actions {
 		int es2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int es2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol es2 = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "<");
+		 arbol nodo = new arbol(Operador.MENOR);
               nodo.agregarHijo(es1);
               nodo.agregarHijo(es2);
-              // ANÁLISIS SEMÁNTICO: Validar tipos comparables
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es1);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(es2);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "<");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_rel",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1604,13 +1545,9 @@ class CUP$Parser$actions {
 		int es2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int es2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol es2 = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "<=");
+		 arbol nodo = new arbol(Operador.MENOR_IGUAL);
               nodo.agregarHijo(es1);
               nodo.agregarHijo(es2);
-              // ANÁLISIS SEMÁNTICO: Validar tipos comparables
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es1);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(es2);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "<=");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_rel",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1626,13 +1563,9 @@ class CUP$Parser$actions {
 		int es2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int es2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol es2 = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", ">");
+		 arbol nodo = new arbol(Operador.MAYOR);
               nodo.agregarHijo(es1);
               nodo.agregarHijo(es2);
-              // ANÁLISIS SEMÁNTICO: Validar tipos comparables
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es1);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(es2);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, ">");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_rel",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1648,13 +1581,9 @@ class CUP$Parser$actions {
 		int es2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int es2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol es2 = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", ">=");
+		 arbol nodo = new arbol(Operador.MAYOR_IGUAL);
               nodo.agregarHijo(es1);
               nodo.agregarHijo(es2);
-              // ANÁLISIS SEMÁNTICO: Validar tipos comparables
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es1);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(es2);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, ">=");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_rel",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1682,13 +1611,9 @@ class CUP$Parser$actions {
 		int emleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int emright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol em = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "+");
+		 arbol nodo = new arbol(Operador.SUMA);
                nodo.agregarHijo(es);
                nodo.agregarHijo(em);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(em);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "+");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_suma",20, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1704,13 +1629,9 @@ class CUP$Parser$actions {
 		int emleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int emright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol em = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "-");
+		 arbol nodo = new arbol(Operador.RESTA);
                nodo.agregarHijo(es);
                nodo.agregarHijo(em);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(es);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(em);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "-");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_suma",20, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1738,13 +1659,9 @@ class CUP$Parser$actions {
 		int epleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int epright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ep = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "*");
+		 arbol nodo = new arbol(Operador.MULTIPLICACION);
                nodo.agregarHijo(em);
                nodo.agregarHijo(ep);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(em);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ep);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "*");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_mult",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1760,13 +1677,9 @@ class CUP$Parser$actions {
 		int epleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int epright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ep = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "/");
+		 arbol nodo = new arbol(Operador.DIVISION);
                nodo.agregarHijo(em);
                nodo.agregarHijo(ep);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(em);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ep);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "/");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_mult",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1782,13 +1695,9 @@ class CUP$Parser$actions {
 		int epleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int epright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ep = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "//");
+		 arbol nodo = new arbol(Operador.DIVISION_ENTERA);
                nodo.agregarHijo(em);
                nodo.agregarHijo(ep);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(em);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ep);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "//");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_mult",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1804,13 +1713,9 @@ class CUP$Parser$actions {
 		int epleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int epright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ep = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "%");
+		 arbol nodo = new arbol(Operador.MODULO);
                nodo.agregarHijo(em);
                nodo.agregarHijo(ep);
-               // ANÁLISIS SEMÁNTICO: Validar tipos numéricos (int)
-               String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(em);
-               String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ep);
-               AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "%");
                RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_mult",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1838,13 +1743,9 @@ class CUP$Parser$actions {
 		int epleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int epright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol ep = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "^");
+		 arbol nodo = new arbol(Operador.POTENCIA);
               nodo.agregarHijo(eu);
               nodo.agregarHijo(ep);
-              // ANÁLISIS SEMÁNTICO: Validar tipos numéricos
-              String tipoIzq = AnalizadorSemantico.obtenerTipoExpresion(eu);
-              String tipoDer = AnalizadorSemantico.obtenerTipoExpresion(ep);
-              AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, "^");
               RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_pot",22, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -1869,7 +1770,7 @@ class CUP$Parser$actions {
 		int euleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int euright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol eu = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "-");
+		 arbol nodo = new arbol(Operador.RESTA);
              nodo.agregarHijo(eu);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1883,7 +1784,7 @@ class CUP$Parser$actions {
 		int euleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int euright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol eu = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "++");
+		 arbol nodo = new arbol(Operador.INCREMENTO);
              nodo.agregarHijo(eu);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1897,7 +1798,7 @@ class CUP$Parser$actions {
 		int euleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int euright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol eu = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "--");
+		 arbol nodo = new arbol(Operador.DECREMENTO);
              nodo.agregarHijo(eu);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1911,7 +1812,7 @@ class CUP$Parser$actions {
 		int euleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int euright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol eu = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("OPERACION", "NOT");
+		 arbol nodo = new arbol(Operador.NOT);
              nodo.agregarHijo(eu);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1937,7 +1838,7 @@ class CUP$Parser$actions {
 		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol p = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("OPERACION", "++");
+		 arbol nodo = new arbol(Operador.INCREMENTO);
              nodo.agregarHijo(p);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1951,7 +1852,7 @@ class CUP$Parser$actions {
 		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol p = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("OPERACION", "--");
+		 arbol nodo = new arbol(Operador.DECREMENTO);
              nodo.agregarHijo(p);
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_un",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
@@ -1965,7 +1866,7 @@ class CUP$Parser$actions {
 		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object n = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new arbol("LITERAL_INT", n.toString()); 
+		 RESULT = new arbol(TipoNodo.LITERAL_INT, n.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -1977,7 +1878,7 @@ class CUP$Parser$actions {
 		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object f = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new arbol("LITERAL_FLOAT", f.toString()); 
+		 RESULT = new arbol(TipoNodo.LITERAL_FLOAT, f.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -1989,7 +1890,7 @@ class CUP$Parser$actions {
 		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object b = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new arbol("LITERAL_BOOL", b.toString()); 
+		 RESULT = new arbol(TipoNodo.LITERAL_BOOL, b.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -2001,7 +1902,7 @@ class CUP$Parser$actions {
 		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object c = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new arbol("LITERAL_CHAR", c.toString()); 
+		 RESULT = new arbol(TipoNodo.LITERAL_CHAR, c.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -2013,7 +1914,7 @@ class CUP$Parser$actions {
 		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object s = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new arbol("LITERAL_STRING", s.toString()); 
+		 RESULT = new arbol(TipoNodo.LITERAL_STRING, s.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -2025,12 +1926,7 @@ class CUP$Parser$actions {
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Object id = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("IDENT", id.toString());
-          // ANÁLISIS SEMÁNTICO: Validar que la variable esté declarada
-          if (!AnalizadorSemantico.estaVariableDeclara(id.toString())) {
-             util.ErrorHandler.agregarErrorSemantico("Variable no declarada: " + id.toString());
-          }
-          RESULT = nodo; 
+		 RESULT = new arbol(TipoNodo.IDENT, id.toString()); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("prim",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -2081,12 +1977,8 @@ class CUP$Parser$actions {
 		int aleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int aright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		arbol a = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 arbol nodo = new arbol("LLAMADA", id.toString());
+		 arbol nodo = new arbol(TipoNodo.LLAMADA, id.toString());
              if (a != null) nodo.agregarHijo(a);
-             // ANÁLISIS SEMÁNTICO: Validar que la función esté declarada
-             if (!AnalizadorSemantico.estaFuncionDeclarada(id.toString())) {
-                util.ErrorHandler.agregarErrorSemantico("Función no declarada: " + id.toString());
-             }
              RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("llamada",25, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -2120,7 +2012,7 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		arbol e = (arbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 arbol nodo = new arbol("ARGUMENTOS");
+		 arbol nodo = new arbol(TipoNodo.ARGUMENTOS);
                 nodo.agregarHijo(e);
                 RESULT = nodo; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("lista_args",27, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
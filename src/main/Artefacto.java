@@ -0,0 +1,50 @@
+package main;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Archivos que puede producir una compilación; se eligen con --emit=...
+ * Un artefacto que no se pidió no se calcula (no solo no se escribe).
+ */
+public enum Artefacto {
+    ASM("asm"),              // Código MIPS (.asm)
+    TOKENS("tokens"),        // tokens.txt (tokens, resultado del parser y árbol en texto)
+    AST_JSON("ast-json"),    // arbol.json
+    AST_HTML("ast-html"),    // arbol_interactivo.html
+    SYMTAB("symtab");        // symbol_table.txt y symbol_table.json
+
+    private final String nombre;
+
+    Artefacto(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() { return nombre; }
+
+    /**
+     * Convierte una lista separada por comas (p. ej. "asm,ast-json") en un
+     * conjunto de artefactos. "all" selecciona todos.
+     * @throws IllegalArgumentException si algún nombre no existe
+     */
+    public static Set<Artefacto> parsear(String lista) {
+        Set<Artefacto> artefactos = EnumSet.noneOf(Artefacto.class);
+        for (String parte : lista.split(",")) {
+            String nombre = parte.trim();
+            if (nombre.isEmpty()) continue;
+            if (nombre.equals("all")) {
+                artefactos.addAll(EnumSet.allOf(Artefacto.class));
+                continue;
+            }
+            Artefacto encontrado = null;
+            for (Artefacto a : values()) {
+                if (a.nombre.equals(nombre)) encontrado = a;
+            }
+            if (encontrado == null) {
+                throw new IllegalArgumentException("Artefacto desconocido: " + nombre
+                        + " (asm, tokens, ast-json, ast-html, symtab, all)");
+            }
+            artefactos.add(encontrado);
+        }
+        return artefactos;
+    }
+}
@@ -0,0 +1,223 @@
+package main;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import util.Log;
+
+/**
+ * Modo lote: compila muchos programas .txt en una sola JVM.
+ * Reutiliza el mismo Compilador (Lexer, flujo de tokens y Parser ya
+ * calentados) y escribe un .asm por entrada en la carpeta output.
+ * Con --emit se pueden pedir también los archivos de diagnóstico; en ese
+ * caso se nombran con el nombre de la entrada como prefijo
+ * (p. ej. prueba_tokens.txt).
+ *
+ * Uso: java main.Main --lote [--paralelo[=N]] [--emit=...] <directorio|archivo|@lista> ...
+ *   directorio    compila todos los .txt del directorio (en orden alfabético)
+ *   archivo       compila ese archivo
+ *   @lista        lee las rutas a compilar desde un archivo, una por línea
+ *   --paralelo    compila los archivos en paralelo con N hilos
+ *                 (por defecto, uno por procesador)
+ *
+ * En modo paralelo cada hilo tiene su propio Compilador y cada archivo su
+ * propio ContextoCompilacion; el resumen se muestra en el orden de entrada.
+ */
+public class CompilacionLote {
+    private static final String USO = "Uso: java main.Main --lote [--paralelo[=N]] [--emit=...] <directorio|archivo|@lista> ...";
+
+    public static void ejecutar(String[] args, Set<Artefacto> artefactos, int historial,
+                                boolean arbolCompacto, boolean mipsStreaming) throws IOException {
+        int hilos = 1;
+        List<String> rutas = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--paralelo")) {
+                hilos = Runtime.getRuntime().availableProcessors();
+            } else if (arg.startsWith("--paralelo=")) {
+                try {
+                    hilos = Math.max(1, Integer.parseInt(arg.substring("--paralelo=".length())));
+                } catch (NumberFormatException e) {
+                    System.err.println("[LOTE] Número de hilos inválido: " + arg);
+                    System.err.println(USO);
+                    return;
+                }
+            } else {
+                rutas.add(arg);
+            }
+        }
+        if (rutas.isEmpty()) {
+            System.err.println(USO);
+            return;
+        }
+
+        List<String> entradas = recolectarEntradas(rutas);
+        if (entradas.isEmpty()) {
+            System.err.println("[LOTE] No se encontraron archivos .txt para compilar");
+            return;
+        }
+
+        File outDir = new File("output");
+        if (!outDir.exists()) outDir.mkdirs();
+
+        Compilador.Resultado[] resultados = new Compilador.Resultado[entradas.size()];
+
+        long inicio = System.nanoTime();
+        if (hilos > 1) {
+            compilarEnParalelo(entradas, resultados, outDir, artefactos, historial, arbolCompacto, mipsStreaming, hilos);
+        } else {
+            Compilador compilador = new Compilador(outDir, artefactos);
+            compilador.setCapacidadHistorial(historial);
+            compilador.setArbolCompacto(arbolCompacto);
+            compilador.setMipsStreaming(mipsStreaming);
+            for (int i = 0; i < entradas.size(); i++) {
+                resultados[i] = compilarArchivo(compilador, outDir, entradas.get(i));
+            }
+        }
+        long total = System.nanoTime() - inicio;
+
+        mostrarResumen(Arrays.asList(resultados), total, hilos);
+    }
+
+    /**
+     * Compila una entrada; el reporte de errores se nombra como el .asm.
+     * Si el archivo no se puede leer, se devuelve un resultado fallido y el
+     * lote continúa con las demás entradas.
+     */
+    static Compilador.Resultado compilarArchivo(Compilador compilador, File outDir, String entrada) {
+        String salida = Compilador.derivarSalidaMIPS(outDir, entrada);
+        String base = salida.replaceAll("\\.asm$", "");
+        String reporte = base + "_reporte_errores.txt";
+        String prefijo = new File(base).getName() + "_";
+        long inicio = System.nanoTime();
+        try {
+            return compilador.compilar(entrada, salida, reporte, prefijo);
+        } catch (IOException e) {
+            Log.error("[LOTE] No se pudo compilar " + entrada + ": " + e.getMessage());
+            return new Compilador.Resultado(entrada, salida, 0, 0, 0, 0, false, false, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Reparte las entradas en un ForkJoinPool (work-stealing). Cada hilo del
+     * pool reutiliza su propio Compilador y cada resultado se guarda en la
+     * posición de su entrada para que la salida sea determinista.
+     */
+    static void compilarEnParalelo(List<String> entradas, Compilador.Resultado[] resultados,
+                                   File outDir, Set<Artefacto> artefactos, int historial,
+                                   boolean arbolCompacto, boolean mipsStreaming, int hilos) {
+        ThreadLocal<Compilador> compiladores = ThreadLocal.withInitial(() -> {
+            Compilador compilador = new Compilador(outDir, artefactos);
+            compilador.setCapacidadHistorial(historial);
+            compilador.setArbolCompacto(arbolCompacto);
+            compilador.setMipsStreaming(mipsStreaming);
+            return compilador;
+        });
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            pool.invoke(new TareaLote(entradas, resultados, outDir, compiladores, 0, entradas.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Divide el rango [desde, hasta) a la mitad hasta llegar a un archivo.
+     */
+    private static class TareaLote extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> entradas;
+        private final Compilador.Resultado[] resultados;
+        private final File outDir;
+        private final ThreadLocal<Compilador> compiladores;
+        private final int desde;
+        private final int hasta;
+
+        TareaLote(List<String> entradas, Compilador.Resultado[] resultados, File outDir,
+                  ThreadLocal<Compilador> compiladores, int desde, int hasta) {
+            this.entradas = entradas;
+            this.resultados = resultados;
+            this.outDir = outDir;
+            this.compiladores = compiladores;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                resultados[desde] = compilarArchivo(compiladores.get(), outDir, entradas.get(desde));
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaLote(entradas, resultados, outDir, compiladores, desde, medio),
+                      new TareaLote(entradas, resultados, outDir, compiladores, medio, hasta));
+        }
+    }
+
+    /**
+     * Expande directorios y listas @archivo en rutas individuales.
+     */
+    static List<String> recolectarEntradas(List<String> rutas) throws IOException {
+        List<String> entradas = new ArrayList<>();
+        for (String arg : rutas) {
+            if (arg.startsWith("@")) {
+                try (BufferedReader r = new BufferedReader(new FileReader(arg.substring(1)))) {
+                    String linea;
+                    while ((linea = r.readLine()) != null) {
+                        linea = linea.trim();
+                        if (!linea.isEmpty()) entradas.add(linea);
+                    }
+                }
+                continue;
+            }
+            File f = new File(arg);
+            if (f.isDirectory()) {
+                File[] archivos = f.listFiles((dir, nombre) -> nombre.endsWith(".txt"));
+                if (archivos == null) continue;
+                Arrays.sort(archivos);
+                for (File a : archivos) {
+                    entradas.add(a.getPath());
+                }
+            } else {
+                entradas.add(arg);
+            }
+        }
+        return entradas;
+    }
+
+    /**
+     * Muestra una línea por archivo y el rendimiento total del lote.
+     */
+    static void mostrarResumen(List<Compilador.Resultado> resultados, long nanosTotales, int hilos) {
+        int correctos = 0;
+        long tokensTotales = 0;
+
+        System.out.println("\n═══════════════════════════════════════════════════════════");
+        System.out.println("RESUMEN DEL LOTE");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        for (Compilador.Resultado r : resultados) {
+            String estado = r.exitoso() ? "OK   " : "ERROR";
+            System.out.println(String.format("  %s %-40s %7d tokens %4d errores %9.2f ms",
+                    estado, r.getArchivoEntrada(), r.getCantidadTokens(), r.getTotalErrores(),
+                    r.getNanosegundos() / 1_000_000.0));
+            if (r.exitoso()) correctos++;
+            tokensTotales += r.getCantidadTokens();
+        }
+
+        double segundos = nanosTotales / 1_000_000_000.0;
+        System.out.println("───────────────────────────────────────────────────────────");
+        System.out.println(String.format("  Archivos: %d (%d correctos, %d con errores)",
+                resultados.size(), correctos, resultados.size() - correctos));
+        System.out.println(String.format("  Tiempo total: %.2f ms (%d %s)", nanosTotales / 1_000_000.0,
+                hilos, hilos == 1 ? "hilo" : "hilos"));
+        if (segundos > 0) {
+            System.out.println(String.format("  Rendimiento: %.1f archivos/s, %.0f tokens/s",
+                    resultados.size() / segundos, tokensTotales / segundos));
+        }
+        System.out.println("═══════════════════════════════════════════════════════════");
+    }
+}
@@ -0,0 +1,464 @@
+package main;
+import java.io.*;
+import java.util.EnumSet;
+import java.util.Set;
+import lexer.Lexer;
+import lexer.sym;
+import java_cup.runtime.Symbol;
+import lexer.FlujoTokens;
+import lexer.Parser;
+import arbolSintactico.arbol;
+import arbolSintactico.ArbolCompacto;
+import arbolSintactico.ImpresorArbol;
+import arbolSintactico.EscritorJSON;
+import arbolSintactico.RecorridoArbol;
+import arbolSintactico.VisitanteArbol;
+import util.ContextoCompilacion;
+import util.ErrorHandler;
+import util.Log;
+import util.SymbolTable;
+import util.HistorialTabla;
+import util.Token;
+import util.CodeGenerator;
+import util.PasadaSemantica;
+
+/**
+ * Ejecuta las fases del compilador (léxico, sintáctico, semántico y MIPS)
+ * sobre un archivo de entrada.
+ * Una misma instancia puede compilar muchos archivos seguidos: el Lexer,
+ * el flujo de tokens y el Parser se reutilizan entre compilaciones.
+ * Qué archivos se producen (.asm, tokens.txt, arbol.json,
+ * arbol_interactivo.html, reportes de tabla de símbolos) lo decide el
+ * conjunto de Artefacto recibido; lo que no se pide no se calcula.
+ * Cada compilación usa su propio ContextoCompilacion; una instancia de
+ * Compilador no debe usarse desde dos hilos a la vez.
+ */
+public class Compilador {
+    // Operaciones de la tabla de símbolos que se conservan para symbol_table.txt
+    public static final int HISTORIAL_POR_DEFECTO = 1000;
+
+    private final File outDir;                 // Carpeta de salida de los archivos de diagnóstico
+    private final Set<Artefacto> artefactos;   // Archivos a producir en cada compilación
+    private final Lexer lexer;                 // Lexer reutilizado (yyreset por archivo)
+    private final FlujoTokens tokens;          // Flujo de tokens reutilizado
+    private final Parser parser;               // Parser reutilizado (setScanner por archivo)
+    private int capacidadHistorial = HISTORIAL_POR_DEFECTO;  // 0 = sin historial
+    private boolean arbolCompacto = false;     // Guardar el AST como ArbolCompacto tras el parseo
+    private boolean mipsStreaming = false;     // Escribir el .asm mientras se genera
+    // Tabla de símbolos de la compilación en curso
+    private SymbolTable tablaSimbolos;
+
+    /**
+     * Resultado de compilar un archivo.
+     */
+    public static class Resultado {
+        private final String archivoEntrada;
+        private final String archivoSalidaMIPS;
+        private final int cantidadTokens;
+        private final int erroresLexicos;
+        private final int erroresSintacticos;
+        private final int erroresSemanticos;
+        private final boolean codigoGenerado;
+        private final boolean exitoso;
+        private final long nanosegundos;
+
+        public Resultado(String archivoEntrada, String archivoSalidaMIPS, int cantidadTokens,
+                         int erroresLexicos, int erroresSintacticos, int erroresSemanticos,
+                         boolean codigoGenerado, boolean exitoso, long nanosegundos) {
+            this.archivoEntrada = archivoEntrada;
+            this.archivoSalidaMIPS = archivoSalidaMIPS;
+            this.cantidadTokens = cantidadTokens;
+            this.erroresLexicos = erroresLexicos;
+            this.erroresSintacticos = erroresSintacticos;
+            this.erroresSemanticos = erroresSemanticos;
+            this.codigoGenerado = codigoGenerado;
+            this.exitoso = exitoso;
+            this.nanosegundos = nanosegundos;
+        }
+
+        public String getArchivoEntrada() { return archivoEntrada; }
+        public String getArchivoSalidaMIPS() { return archivoSalidaMIPS; }
+        public int getCantidadTokens() { return cantidadTokens; }
+        public int getErroresLexicos() { return erroresLexicos; }
+        public int getErroresSintacticos() { return erroresSintacticos; }
+        public int getErroresSemanticos() { return erroresSemanticos; }
+        public int getTotalErrores() { return erroresLexicos + erroresSintacticos + erroresSemanticos; }
+        public boolean codigoGenerado() { return codigoGenerado; }
+        // Sin errores y con todos los artefactos pedidos generados
+        public boolean exitoso() { return exitoso; }
+        public long getNanosegundos() { return nanosegundos; }
+    }
+
+    @SuppressWarnings("deprecation")
+    public Compilador(File outDir, Set<Artefacto> artefactos) {
+        this.outDir = outDir;
+        this.artefactos = EnumSet.noneOf(Artefacto.class);
+        this.artefactos.addAll(artefactos);
+        this.lexer = new Lexer(Reader.nullReader());
+        this.tokens = new FlujoTokens();
+        this.parser = new Parser(tokens, new java_cup.runtime.DefaultSymbolFactory());
+    }
+
+    /**
+     * Cantidad de operaciones de la tabla de símbolos a conservar para el
+     * reporte (solo se registran si se pidió el artefacto symtab; 0 las desactiva).
+     */
+    public void setCapacidadHistorial(int capacidadHistorial) {
+        this.capacidadHistorial = capacidadHistorial;
+    }
+
+    /**
+     * Si es true, el AST se pasa a un ArbolCompacto apenas termina el parseo
+     * (menos memoria en programas muy grandes; las salidas son las mismas).
+     */
+    public void setArbolCompacto(boolean arbolCompacto) {
+        this.arbolCompacto = arbolCompacto;
+    }
+
+    /**
+     * Si es true, cada unidad del programa se escribe en el .asm en cuanto
+     * se genera (memoria acotada en programas muy grandes; el .asm es el
+     * mismo).
+     */
+    public void setMipsStreaming(boolean mipsStreaming) {
+        this.mipsStreaming = mipsStreaming;
+    }
+
+    /**
+     * Deriva la ruta del .asm en la carpeta de salida a partir del archivo de entrada.
+     */
+    public static String derivarSalidaMIPS(File outDir, String archivoEntrada) {
+        // Obtener solo el nombre del archivo sin la ruta
+        String nombreArchivo = new File(archivoEntrada).getName();
+        // Cambiar extensión a .asm
+        String archivoSalidaMIPS = nombreArchivo.replaceAll("\\.[^.]+$", ".asm");
+        if (archivoSalidaMIPS.equals(nombreArchivo)) {
+            archivoSalidaMIPS = nombreArchivo + ".asm";
+        }
+        // Guardar en la carpeta output
+        return outDir.getPath() + "/" + archivoSalidaMIPS;
+    }
+
+    /**
+     * Compila un archivo de entrada y escribe el código MIPS en archivoSalidaMIPS.
+     * @param archivoEntrada Programa fuente
+     * @param archivoSalidaMIPS Ruta del .asm a generar
+     * @param archivoReporte Ruta del reporte de errores (si los hay)
+     */
+    public Resultado compilar(String archivoEntrada, String archivoSalidaMIPS, String archivoReporte) throws IOException {
+        return compilar(archivoEntrada, archivoSalidaMIPS, archivoReporte, "");
+    }
+
+    /**
+     * Igual que compilar(entrada, salida, reporte), anteponiendo prefijo a los
+     * nombres de los archivos de diagnóstico (p. ej. "prueba_tokens.txt").
+     */
+    public Resultado compilar(String archivoEntrada, String archivoSalidaMIPS, String archivoReporte,
+                              String prefijo) throws IOException {
+        // Errores, tablas semánticas y tabla de símbolos propios de esta compilación
+        ContextoCompilacion contexto = new ContextoCompilacion();
+        contexto.activar();
+        try {
+            return compilar(contexto, archivoEntrada, archivoSalidaMIPS, archivoReporte, prefijo);
+        } finally {
+            ContextoCompilacion.desactivar();
+            tablaSimbolos = null;
+        }
+    }
+
+    private Resultado compilar(ContextoCompilacion contexto, String archivoEntrada,
+                               String archivoSalidaMIPS, String archivoReporte,
+                               String prefijo) throws IOException {
+        long inicio = System.nanoTime();
+
+        // ========================================
+        // INICIALIZAR TABLA DE SÍMBOLOS
+        // ========================================
+        tablaSimbolos = contexto.getTablaSimbolos();
+        // El historial solo se usa en el reporte de la tabla de símbolos
+        if (artefactos.contains(Artefacto.SYMTAB) && capacidadHistorial > 0) {
+            tablaSimbolos.setHistorial(new HistorialTabla.Circular(capacidadHistorial));
+        }
+        Log.detalle(" Tabla de símbolos inicializada\n");
+
+        //Lectura del archivo de entrada: se tokeniza una sola vez y el mismo
+        // flujo alimenta tokens.txt y el parser
+        try (Reader reader = new FileReader(archivoEntrada)) {
+            lexer.yyreset(reader);
+            lexer.setIdentificadores(contexto.getIdentificadores());
+            tokens.cargar(lexer);
+        }
+
+        // Crear el directorio de salida si no existe
+        if (!outDir.exists()) outDir.mkdirs();
+
+        boolean codigoGenerado = false;
+        boolean exitoso = false;
+        // tokens.txt solo se escribe si se pidió (w queda en null en otro caso)
+        try (BufferedWriter w = artefactos.contains(Artefacto.TOKENS)
+                ? new BufferedWriter(new FileWriter(new File(outDir, prefijo + "tokens.txt")))
+                : null) {
+
+            // ========================================
+            // FASE 1: ANÁLISIS LÉXICO
+            // ========================================
+            Log.fase("FASE 1: ANÁLISIS LÉXICO");
+
+            // Recorrido de los tokens ya leídos (sin incluir EOF)
+            for (int i = 0; i < tokens.cantidadTokens(); i++) {
+                if (w != null || Log.esDetalle()) {
+                    String out = tokens.getNombre(i) + " (" + tokens.getSimbolo(i) + ")" + ", "
+                            + tokens.getLexema(i) + ", " + tokens.getLinea(i) + ", " + tokens.getColumna(i);
+                    if (w != null) {
+                        w.write(out);
+                        w.newLine();
+                    }
+                    Log.detalle(out);
+                }
+
+                // Registrar identificadores en la tabla de símbolos
+                if (tokens.getSimbolo(i) == sym.IDENT) {
+                    registrarIdentificador(tokens.getIdIdentificador(i), tokens.getLinea(i), tokens.getColumna(i));
+                }
+            }
+
+            // ========================================
+            // FASE 2: ANÁLISIS SINTÁCTICO
+            // ========================================
+            Log.fase("FASE 2: ANÁLISIS SINTÁCTICO");
+
+            // El parser consume el mismo flujo de tokens de la fase léxica
+            tokens.reiniciar();
+            parser.setScanner(tokens);
+            try {
+                Symbol result = parser.parse(); // Captura el AST
+                // Escritura del resultado en el archivo de salida
+                if (w != null) {
+                    w.write("ACCEPTED");
+                    w.newLine();
+                    w.flush();
+                }
+                // También imprime en consola
+                Log.info(" Análisis sintáctico completado: ACCEPTED");
+
+                // Mostrar el árbol sintáctico
+                if (result != null && result.value instanceof arbol) {
+                    arbol ast = (arbol) result.value;
+                    if (arbolCompacto) {
+                        // Desde aquí solo se conservan los arreglos del árbol
+                        // compacto; las fases siguientes recorren sus vistas
+                        ast = ArbolCompacto.desde(ast).vista();
+                        result.value = null;
+                    }
+                    if (Log.esDetalle()) {
+                        Log.fase("ÁRBOL SINTÁCTICO");
+                        ImpresorArbol.imprimir(ast, System.out);
+                        System.out.println();
+                    }
+
+                    // ========================================
+                    // FASE 3: ANÁLISIS SEMÁNTICO
+                    // ========================================
+                    // También corre sobre el árbol que quedó tras recuperarse
+                    // de errores léxicos o sintácticos, así el reporte trae
+                    // todos los errores de una vez
+                    Log.fase("FASE 3: ANÁLISIS SEMÁNTICO");
+
+                    PasadaSemantica.analizar(ast, tablaSimbolos);
+
+                    // Con cualquier error no se genera código
+                    if (ErrorHandler.getTotalErrores() > 0) {
+                        if (ErrorHandler.getErroresSemanticos() < ErrorHandler.getTotalErrores()) {
+                            Log.info("\n  SE ENCONTRARON ERRORES EN FASES ANTERIORES");
+                        }
+                        if (ErrorHandler.getErroresSemanticos() > 0) {
+                            Log.info("\n  SE ENCONTRARON ERRORES SEMÁNTICOS");
+                        }
+                        Log.info("No se procederá con generación de código MIPS.");
+                        ErrorHandler.generarReporte(archivoReporte);
+                        ErrorHandler.mostrarResumen();
+                    } else {
+                        // ========================================
+                        // FASE 4: GENERACIÓN DE CÓDIGO MIPS
+                        // ========================================
+                        Log.fase("FASE 4: GENERACIÓN DE CÓDIGO MIPS");
+
+                        if (artefactos.contains(Artefacto.ASM)) {
+                            codigoGenerado = generarCodigoMIPS(ast, archivoSalidaMIPS);
+                            exitoso = codigoGenerado;
+                        } else {
+                            Log.info("  Generación de código MIPS omitida (asm no está en --emit)");
+                            exitoso = true;
+                        }
+                    }
+
+                    // Guardar el árbol en los archivos pedidos solo si no hay errores
+                    if (ErrorHandler.getTotalErrores() == 0) {
+                        guardarArbol(ast, w, prefijo);
+                    }
+                }
+
+                // ========================================
+                // GENERAR REPORTES DE TABLA DE SÍMBOLOS
+                // ========================================
+                if (artefactos.contains(Artefacto.SYMTAB)) {
+                    Log.fase("TABLA DE SÍMBOLOS GENERADA");
+                }
+
+                if (ErrorHandler.getTotalErrores() == 0) {
+                    if (artefactos.contains(Artefacto.SYMTAB)) {
+                        generarReportesTablaSimbolos(prefijo);
+                    }
+                    Log.info("\n La Compilación está sin errores");
+                } else {
+                    ErrorHandler.generarReporte(archivoReporte);
+                }
+            } catch (Exception e) {
+                // Escritura del resultado en el archivo de salida
+                if (w != null) {
+                    w.write("REJECTED: " + e.getMessage());
+                    w.newLine();
+                    w.flush();
+                }
+                // También imprimir en consola
+                Log.error("REJECTED: " + e.getMessage());
+
+                // Generar reporte de errores
+                ErrorHandler.generarReporte(archivoReporte);
+                ErrorHandler.mostrarResumen();
+
+                if (Log.esDetalle()) {
+                    e.printStackTrace(System.err);
+                }
+            }
+        }
+
+        return new Resultado(archivoEntrada, archivoSalidaMIPS, tokens.cantidadTokens(),
+                ErrorHandler.getErroresLexicos(), ErrorHandler.getErroresSintacticos(),
+                ErrorHandler.getErroresSemanticos(), codigoGenerado,
+                exitoso && ErrorHandler.getTotalErrores() == 0, System.nanoTime() - inicio);
+    }
+
+    // ========================================
+    // MÉTODOS PARA TABLA DE SÍMBOLOS
+    // ========================================
+
+    /**
+     * Registra un identificador (por su id internado) en la tabla de símbolos.
+     */
+    private void registrarIdentificador(int id, int linea, int columna) {
+        // Si no existe, agregarlo
+        if (tablaSimbolos.buscar(id) == null) {
+            String nombre = tablaSimbolos.getIdentificadores().nombre(id);
+            tablaSimbolos.agregar(id, new Token("IDENT", nombre, linea, columna));
+            Log.detalle(() -> "  [TABLA] Registrado: " + nombre);
+        }
+    }
+
+    /**
+     * Guarda el árbol en los archivos pedidos (volcado en el archivo de
+     * resultado, arbol.json y arbol_interactivo.html) recorriéndolo una
+     * sola vez: cada archivo tiene su visitante y RecorridoArbol los
+     * alimenta juntos.
+     */
+    private void guardarArbol(arbol ast, BufferedWriter w, String prefijo) throws IOException {
+        File archivoJson = artefactos.contains(Artefacto.AST_JSON) ? new File(outDir, prefijo + "arbol.json") : null;
+        File archivoHtml = artefactos.contains(Artefacto.AST_HTML) ? new File(outDir, prefijo + "arbol_interactivo.html") : null;
+
+        try (BufferedWriter wJson = archivoJson != null ? new BufferedWriter(new FileWriter(archivoJson)) : null;
+             BufferedWriter wHtml = archivoHtml != null ? new BufferedWriter(new FileWriter(archivoHtml)) : null) {
+            java.util.List<VisitanteArbol> visitantes = new java.util.ArrayList<>(3);
+            if (w != null) {
+                w.newLine();
+                w.write("ÁRBOL SINTÁCTICO:");
+                w.newLine();
+                visitantes.add(new ImpresorArbol(w));
+            }
+            if (wJson != null) {
+                visitantes.add(new EscritorJSON(wJson, EscritorJSON.Esquema.ARBOL, true));
+            }
+            if (wHtml != null) {
+                Main.escribirInicioHTML(wHtml);
+                visitantes.add(new EscritorJSON(wHtml, EscritorJSON.Esquema.D3, false));
+            }
+
+            RecorridoArbol.recorrerSalida(ast, visitantes.toArray(new VisitanteArbol[0]));
+
+            if (w != null) {
+                w.flush();
+            }
+            if (wJson != null) {
+                wJson.flush();
+                Log.info("\n JSON guardado en " + archivoJson.getPath());
+            }
+            if (wHtml != null) {
+                Main.escribirFinHTML(wHtml);
+                wHtml.flush();
+                Log.info(" Gráfico HTML generado en " + archivoHtml.getPath());
+            }
+        }
+    }
+
+    /**
+     * Genera reportes de la tabla de símbolos.
+     */
+    private void generarReportesTablaSimbolos(String prefijo) throws IOException {
+        String reporte = tablaSimbolos.generarReporte();
+
+        // Mostrar reporte en consola
+        //Opcional
+        Log.detalle(reporte);
+
+        // Reporte en texto
+        File archivoTexto = new File(outDir, prefijo + "symbol_table.txt");
+        try (BufferedWriter w = new BufferedWriter(new FileWriter(archivoTexto))) {
+            w.write(reporte);
+        }
+        Log.info(" Reporte de tabla de símbolos (texto): " + archivoTexto.getPath());
+
+        // Reporte en JSON
+        File archivoJson = new File(outDir, prefijo + "symbol_table.json");
+        try (BufferedWriter w = new BufferedWriter(new FileWriter(archivoJson))) {
+            w.write(tablaSimbolos.generarReporteJSON());
+        }
+        Log.info(" Reporte de tabla de símbolos (JSON): " + archivoJson.getPath());
+    }
+
+    /**
+     * Genera código MIPS a partir del árbol sintáctico.
+     * @param ast El árbol sintáctico a compilar
+     * @param archivoSalidaMIPS Ruta del archivo de salida MIPS
+     * @return true si el archivo .asm se escribió correctamente
+     */
+    private boolean generarCodigoMIPS(arbol ast, String archivoSalidaMIPS) {
+        try {
+            Log.info("  Iniciando generación de código MIPS...\n");
+
+            // Crear el generador de código
+            CodeGenerator generador = new CodeGenerator();
+
+            if (mipsStreaming) {
+                // Generar y escribir a la vez
+                generador.generarCodigo(ast, archivoSalidaMIPS);
+            } else {
+                // Generar código a partir del AST
+                generador.generarCodigo(ast);
+
+                // Guardar el código MIPS en el archivo especificado
+                generador.guardarCodigo(archivoSalidaMIPS);
+            }
+
+            // Mostrar resumen
+            Log.info("\n  ═══════════════════════════════════════════════════════════");
+            Log.info("  Código MIPS generado exitosamente");
+            Log.info("  Archivo: " + archivoSalidaMIPS);
+            Log.info("  ═══════════════════════════════════════════════════════════");
+            return true;
+
+        } catch (Exception e) {
+            Log.error("  [ERROR] Fallo en generación de código MIPS: " + e.getMessage());
+            if (Log.esDetalle()) e.printStackTrace(System.err);
+            return false;
+        }
+    }
+}
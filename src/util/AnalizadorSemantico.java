@@ -1,193 +1,132 @@
 package util;
 
-import arbolSintactico.arbol;
-import java.util.HashMap;
-import java.util.Map;
+import arbolSintactico.Operador;
+import arbolSintactico.TipoNodo;
 
+// Reglas de tipos del lenguaje. No guarda estado: PasadaSemantica resuelve
+// los nombres y aplica estas reglas a los tipos ya anotados en el árbol.
 public class AnalizadorSemantico {
-    private static Map<String, String> tablaVariablesGlobales = new HashMap<>();
-    private static Map<String, String> tablaVariablesLocales = new HashMap<>();
-    private static Map<String, String> tablaFunciones = new HashMap<>();
 
-    public static String obtenerTipoExpresion(arbol nodo) {
-        if (nodo == null) return "unknown";
-        String tipo = nodo.tipo;
-        String valor = nodo.valor;
-        // Literales
-        if (tipo.equals("LITERAL_INT")) return "int";
-        if (tipo.equals("LITERAL_FLOAT")) return "float";
-        if (tipo.equals("LITERAL_BOOL")) return "bool";
-        if (tipo.equals("LITERAL_CHAR")) return "char";
-        if (tipo.equals("LITERAL_STRING")) return "string";
-        // Identificadores
-        if (tipo.equals("IDENT")) {
-            String nombreVar = valor;
-            if (tablaVariablesLocales.containsKey(nombreVar)) {
-                return tablaVariablesLocales.get(nombreVar);
-            }
-            if (tablaVariablesGlobales.containsKey(nombreVar)) {
-                return tablaVariablesGlobales.get(nombreVar);
-            }
-            util.ErrorHandler.agregarErrorSemantico("Variable no declarada: " + nombreVar);
-            return "unknown";
-        }
-        // Operaciones
-        if (tipo.equals("OPERACION")) {
-            return obtenerTipoOperacion(valor, nodo);
-        }
-        // Acceso a arreglo
-        if (tipo.equals("ARRAY_ACCESS")) {
-            String nombreVar = valor;
-            if (tablaVariablesLocales.containsKey(nombreVar)) {
-                return tablaVariablesLocales.get(nombreVar).replace("[]", "");
-            }
-            if (tablaVariablesGlobales.containsKey(nombreVar)) {
-                return tablaVariablesGlobales.get(nombreVar).replace("[]", "");
-            }
-            return "unknown";
-        }
-        // Llamada a función
-        if (tipo.equals("LLAMADA")) {
-            String nombreFunc = valor;
-            if (tablaFunciones.containsKey(nombreFunc)) {
-                return tablaFunciones.get(nombreFunc);
-            }
-            util.ErrorHandler.agregarErrorSemantico("Función no declarada: " + nombreFunc);
-            return "unknown";
+    // ========================================
+    // REGLAS DE TIPOS
+    // ========================================
+
+    /**
+     * Tipo de un literal, o null si el nodo no es un literal.
+     */
+    public static String tipoLiteral(TipoNodo tipoNodo) {
+        switch (tipoNodo) {
+            case LITERAL_INT: return "int";
+            case LITERAL_FLOAT: return "float";
+            case LITERAL_BOOL: return "bool";
+            case LITERAL_CHAR: return "char";
+            case LITERAL_STRING: return "string";
+            default: return null;
         }
-        return "unknown";
     }
 
-    private static String obtenerTipoOperacion(String operador, arbol nodo) {
-        if (operador == null || nodo.hijos.isEmpty()) return "unknown";
-        // Operadores lógicos: siempre retornan bool
-        if (operador.equals("OR") || operador.equals("AND") || 
-            operador.equals("==") || operador.equals("!=") ||
-            operador.equals("<") || operador.equals("<=") ||
-            operador.equals(">") || operador.equals(">=")) {
-            return "bool";
-        }
-        // Operadores unarios
-        if (operador.equals("NOT")) return "bool";
-        if (operador.equals("-") || operador.equals("++") || operador.equals("--")) {
-            return obtenerTipoExpresion(nodo.hijos.get(0));
-        }
-        // Operadores binarios: retornan el tipo del operando izquierdo
-        if (nodo.hijos.size() >= 2) {
-            String tipoIzq = obtenerTipoExpresion(nodo.hijos.get(0));
-            String tipoDer = obtenerTipoExpresion(nodo.hijos.get(1));
-            validarCompatibilidadTipos(tipoIzq, tipoDer, operador);
-            return tipoIzq;
+    /**
+     * Tipo del resultado de una operación a partir de los tipos de sus
+     * operandos (tipoDer es null en las unarias):
+     * - lógicos y relacionales: bool
+     * - unarios (-x, ++, --): el tipo del operando
+     * - aritméticos binarios: float si algún operando es float, si no int;
+     *   unknown si un operando no es numérico, así el error se reporta solo
+     *   en esta operación y no otra vez en cada expresión que la contiene
+     */
+    public static String tipoOperacion(Operador operador, String tipoIzq, String tipoDer) {
+        if (operador == null) return "unknown";
+        if (operador.esLogico() || operador.esRelacional()) return "bool";
+        if (tipoIzq == null) return "unknown";
+        if (tipoDer == null) return tipoIzq;
+        if (!esNumerico(tipoIzq) || !esNumerico(tipoDer)) return "unknown";
+        return tipoIzq.equals("float") || tipoDer.equals("float") ? "float" : "int";
+    }
+
+    /**
+     * Comprueba si un valor de tipo src puede asignarse a dest
+     * (mismo tipo, int -> float, o arreglos del mismo tipo base).
+     */
+    public static boolean esAsignable(String dest, String src) {
+        if (dest == null || src == null) return false;
+        if (dest.equals(src)) return true;
+        // permitir int -> float
+        if (dest.equals("float") && src.equals("int")) return true;
+        // permitir asignar a arreglos solo si ambos son arreglos del mismo base
+        if (dest.endsWith("[]") && src.endsWith("[]")) {
+            String b1 = dest.replace("[]", "");
+            String b2 = src.replace("[]", "");
+            return b1.equals(b2);
         }
-        return "unknown";
+        return false;
     }
 
-    public static void validarCompatibilidadTipos(String tipoIzq, String tipoDer, String operador) {
+    /**
+     * Valida la asignación de un valor de tipo tipoDer a un destino de tipo tipoIzq.
+     */
+    public static void validarAsignacion(String tipoIzq, String tipoDer) {
         if (tipoIzq == null || tipoDer == null) return;
         if (tipoIzq.equals("unknown") || tipoDer.equals("unknown")) return;
-        // Asignación: '=' debe validar asignabilidad
-        if (operador.equals("=")) {
-            if (tipoIzq.equals(tipoDer)) return;
-            if (esNumerico(tipoIzq) && esNumerico(tipoDer)) {
-                if (tipoIzq.equals("float") && tipoDer.equals("int")) return;
-                util.ErrorHandler.agregarErrorSemantico("Error de asignación: no se puede asignar " + tipoDer + " a " + tipoIzq + ".");
-                return;
-            }
-            if (tipoIzq.endsWith("[]")) {
-                String baseIzq = tipoIzq.replace("[]", "");
-                if (tipoDer.endsWith("[]")) {
-                    String baseDer = tipoDer.replace("[]", "");
-                    if (!baseIzq.equals(baseDer)) {
-                        util.ErrorHandler.agregarErrorSemantico("Error de asignación: tipos de arreglo incompatibles: " + tipoIzq + " y " + tipoDer);
-                    }
-                    return;
-                }
-                util.ErrorHandler.agregarErrorSemantico("Error de asignación: no se puede asignar valor no-arreglo a arreglo " + tipoIzq);
-                return;
-            }
-            util.ErrorHandler.agregarErrorSemantico("Error de asignación: tipos incompatibles " + tipoIzq + " <- " + tipoDer);
-            return;
-        }
-        // Operaciones aritméticas: int/float
-        if (operador.equals("+") || operador.equals("-") || operador.equals("*") || 
-            operador.equals("/") || operador.equals("//") || operador.equals("%") ||
-            operador.equals("^")) {
-            if (!(esNumerico(tipoIzq) && esNumerico(tipoDer))) {
-                util.ErrorHandler.agregarErrorSemantico("Error de tipo: no puedes realizar " + operador + 
-                    " entre " + tipoIzq + " y " + tipoDer + ". Se requieren tipos numéricos.");
-            }
-            return;
-        }
-        // Operadores lógicos: bool
-        if (operador.equals("AND") || operador.equals("OR") || operador.equals("NOT") || operador.equals("OR")) {
-            if (!tipoIzq.equals("bool") || !tipoDer.equals("bool")) {
-                util.ErrorHandler.agregarErrorSemantico("Error de tipo: operadores lógicos requieren bool, " +
-                    "pero se recibieron " + tipoIzq + " y " + tipoDer);
-            }
+        if (esAsignable(tipoIzq, tipoDer)) return;
+        if (esNumerico(tipoIzq) && esNumerico(tipoDer)) {
+            util.ErrorHandler.agregarErrorSemantico("Error de asignación: no se puede asignar " + tipoDer + " a " + tipoIzq + ".");
             return;
         }
-        // Operadores relacionales: cualquier tipo comparable (requerir mismos tipos)
-        if (operador.equals("<") || operador.equals("<=") || operador.equals(">") || operador.equals(">=")) {
-            if (!tipoIzq.equals(tipoDer)) {
-                util.ErrorHandler.agregarErrorSemantico("Error de tipo: operadores relacionales requieren " +
-                    "tipos iguales en ambos operandos. Se recibieron " + tipoIzq + " y " + tipoDer);
+        if (tipoIzq.endsWith("[]")) {
+            String baseIzq = tipoIzq.replace("[]", "");
+            if (tipoDer.endsWith("[]")) {
+                String baseDer = tipoDer.replace("[]", "");
+                if (!baseIzq.equals(baseDer)) {
+                    util.ErrorHandler.agregarErrorSemantico("Error de asignación: tipos de arreglo incompatibles: " + tipoIzq + " y " + tipoDer);
+                }
+                return;
             }
+            util.ErrorHandler.agregarErrorSemantico("Error de asignación: no se puede asignar valor no-arreglo a arreglo " + tipoIzq);
             return;
         }
-        // Igualdad/Desigualdad: emitir advertencia si tipos diferentes
-        if (operador.equals("==") || operador.equals("!=")) {
-            if (!tipoIzq.equals(tipoDer)) {
-                util.ErrorHandler.agregarErrorSemantico("Advertencia: comparación entre tipos diferentes: " + 
-                    tipoIzq + " y " + tipoDer);
-            }
-        }
+        util.ErrorHandler.agregarErrorSemantico("Error de asignación: tipos incompatibles " + tipoIzq + " <- " + tipoDer);
     }
 
-    private static boolean esNumerico(String tipo) {
-        return tipo.equals("int") || tipo.equals("float");
-    }
-
-    public static void registrarVariableGlobal(String nombre, String tipo) {
-        if (tablaVariablesGlobales.containsKey(nombre)) {
-            util.ErrorHandler.agregarErrorSemantico("Variable global ya declarada: " + nombre);
-        } else {
-            tablaVariablesGlobales.put(nombre, tipo);
-        }
-    }
-
-    public static void registrarVariableLocal(String nombre, String tipo) {
-        if (tablaVariablesLocales.containsKey(nombre)) {
-            util.ErrorHandler.agregarErrorSemantico("Variable local ya declarada: " + nombre);
-        } else {
-            tablaVariablesLocales.put(nombre, tipo);
-        }
-    }
-
-    public static String obtenerTipoVariable(String nombre) {
-        if (tablaVariablesLocales.containsKey(nombre)) return tablaVariablesLocales.get(nombre);
-        if (tablaVariablesGlobales.containsKey(nombre)) return tablaVariablesGlobales.get(nombre);
-        return null;
-    }
-
-    public static void registrarFuncion(String nombre, String tipoRetorno) {
-        if (tablaFunciones.containsKey(nombre)) {
-            util.ErrorHandler.agregarErrorSemantico("Función ya declarada: " + nombre);
-        } else {
-            tablaFunciones.put(nombre, tipoRetorno);
+    public static void validarCompatibilidadTipos(String tipoIzq, String tipoDer, Operador operador) {
+        if (tipoIzq == null || tipoDer == null) return;
+        if (tipoIzq.equals("unknown") || tipoDer.equals("unknown")) return;
+        switch (operador) {
+            // Operaciones aritméticas: int/float
+            case SUMA: case RESTA: case MULTIPLICACION:
+            case DIVISION: case DIVISION_ENTERA: case MODULO:
+            case POTENCIA:
+                if (!(esNumerico(tipoIzq) && esNumerico(tipoDer))) {
+                    util.ErrorHandler.agregarErrorSemantico("Error de tipo: no puedes realizar " + operador.getSimbolo() + 
+                        " entre " + tipoIzq + " y " + tipoDer + ". Se requieren tipos numéricos.");
+                }
+                return;
+            // Operadores lógicos: bool
+            case AND: case OR: case NOT:
+                if (!tipoIzq.equals("bool") || !tipoDer.equals("bool")) {
+                    util.ErrorHandler.agregarErrorSemantico("Error de tipo: operadores lógicos requieren bool, " +
+                        "pero se recibieron " + tipoIzq + " y " + tipoDer);
+                }
+                return;
+            // Operadores relacionales: cualquier tipo comparable (requerir mismos tipos)
+            case MENOR: case MENOR_IGUAL: case MAYOR: case MAYOR_IGUAL:
+                if (!tipoIzq.equals(tipoDer)) {
+                    util.ErrorHandler.agregarErrorSemantico("Error de tipo: operadores relacionales requieren " +
+                        "tipos iguales en ambos operandos. Se recibieron " + tipoIzq + " y " + tipoDer);
+                }
+                return;
+            // Igualdad/Desigualdad: emitir advertencia si tipos diferentes
+            case IGUAL: case DISTINTO:
+                if (!tipoIzq.equals(tipoDer)) {
+                    util.ErrorHandler.agregarErrorSemantico("Advertencia: comparación entre tipos diferentes: " + 
+                        tipoIzq + " y " + tipoDer);
+                }
+                return;
+            default:
+                return;
         }
     }
 
-    public static boolean estaVariableDeclara(String nombre) {
-        return tablaVariablesGlobales.containsKey(nombre) || tablaVariablesLocales.containsKey(nombre);
-    }
-
-    public static boolean estaFuncionDeclarada(String nombre) {
-        return tablaFunciones.containsKey(nombre);
-    }
-
-    public static void limpiar() {
-        tablaVariablesGlobales.clear();
-        tablaVariablesLocales.clear();
-        tablaFunciones.clear();
+    private static boolean esNumerico(String tipo) {
+        return tipo.equals("int") || tipo.equals("float");
     }
 }
@@ -1,8 +1,20 @@
 package util;
 
 import arbolSintactico.arbol;
+import arbolSintactico.Operador;
+import arbolSintactico.RecorridoArbol;
+import arbolSintactico.TipoNodo;
+import arbolSintactico.VisitanteArbol;
+import codigoIntermedio.BloqueBasico;
+import codigoIntermedio.Cuadrupla;
+import codigoIntermedio.GeneradorIR;
+import codigoIntermedio.GrafoFlujo;
+import codigoIntermedio.OpIR;
 import java.util.*;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Generador de código MIPS mejorado.
@@ -12,38 +24,79 @@ import java.io.*;
  * - Operaciones aritméticas y lógicas
  * - Arreglos bidimensionales
  * - Estructuras de control (decide, loop, for)
+ *
+ * Registros: los valores intermedios de una expresión usan $t0-$t9 y se
+ * derraman al frame cuando no alcanzan; las variables locales más usadas de
+ * cada función (ponderadas por anidamiento de ciclos) viven en $s0-$s7.
+ *
+ * Constantes: un literal no emite nada hasta que se necesita en un
+ * registro, así que las subexpresiones constantes se pliegan en
+ * compilación (PlegadoConstantes) y las operaciones con un operando
+ * constante se simplifican (x+0, x*1, x*0, addi/slti con inmediato, y
+ * multiplicaciones, divisiones y módulos por potencias de dos con
+ * desplazamientos).
+ *
+ * El árbol se baja primero a código de tres direcciones (GeneradorIR, que
+ * también fija el orden de evaluación de las expresiones) y aquí se
+ * traduce cada grafo de flujo, bloque por bloque. Las instrucciones se
+ * emiten como InstruccionMIPS (OpMIPS y Operando); al terminar cada unidad
+ * una pasada de mirilla (OptimizadorMirilla) limpia las secuencias
+ * redundantes y el tramo se acumula o, en modo streaming, se escribe de
+ * inmediato. EscritorMIPS las vuelve texto. De los bloques que GrafoFlujo
+ * marcó como inalcanzables no se emite nada.
  * 
  * @author Duan Antonio Espinoza
  * @version 0.2
  */
 public class CodeGenerator {
-    private StringBuilder codigo;
-    private StringBuilder datosGlobales;        // Sección .data
-    private int registroContador = 1;           // Contador para registros temporales
-    private Stack<Integer> registrosDisponibles; // Pila de registros disponibles
+    private List<InstruccionMIPS> codigo;       // Emitido desde el último volcado
+    private final List<InstruccionMIPS> programa = new ArrayList<>(); // Tramos ya optimizados (modo en memoria)
+    private EscritorMIPS salidaStreaming;       // Destino de los tramos en modo streaming, o null
+    private final OptimizadorMirilla mirilla = new OptimizadorMirilla();
+    private int bloquesDescartados = 0;         // Bloques inalcanzables que no se emitieron
+    private final List<InstruccionMIPS> datosGlobales = new ArrayList<>(); // Sección .data
+    private Stack<Integer> registrosDisponibles; // Pila de registros $t libres
     private int labelContador = 0;              // Contador para labels
-    private SymbolTable tablaSimbolos;
     private int offsetMemoria = 0;              // Offset para variables en la pila (bytes desde $fp hacia abajo)
     private Map<String, Integer> offsetVariables; // Mapeo variable -> offset en stack
-    private int profundidadBloque = 0;          // Para manejo de variables locales
 
     // Manejo de scopes para variables locales
     private final Stack<Integer> bytesAllocadosEnBloque = new Stack<>();
     private final Stack<List<String>> varsPorBloque = new Stack<>();
 
-    // Contexto para RETURN (main vs función)
-    private boolean enMain = false;
-    private boolean enFuncion = false;
+    // Contexto para RETURN (main vs función): tipo de la unidad que se traduce
+    private TipoNodo unidadActual;
     private static final String LABEL_SALIDA_PROGRAMA = "L_program_end";
 
     // --- Configuración de temporales ---
     private static final int TEMP_REG_MIN = 0;
     private static final int TEMP_REG_MAX = 9;
+    private static final int SIN_REGISTRO = -1;
+
+    // Temporales virtuales de la sentencia actual (índice = temporal)
+    private final List<Integer> registroTemporal = new ArrayList<>();   // $t donde está, o SIN_REGISTRO si se derramó
+    private final List<Integer> ranuraTemporal = new ArrayList<>();     // offset de su ranura de derrame, o 0
+    private final List<Integer> usoTemporal = new ArrayList<>();        // último uso, para elegir a quién derramar
+    private final List<Integer> constanteTemporal = new ArrayList<>();  // valor si se conoce en compilación, o null
+    private final List<String> origenConstante = new ArrayList<>();     // comentario del li que la materializa
+    private final int[] temporalEnRegistro = new int[TEMP_REG_MAX + 1]; // temporal que ocupa cada $t, o -1
+    private int relojUso = 0;
+    private int bytesDerrame = 0;               // Ranuras de derrame reservadas en la sentencia actual
+
+    // Temporales del código intermedio de la unidad actual
+    private int[] temporalVirtual = new int[0];  // temporal virtual que tiene el valor de cada uno
+    private boolean[] temporalUsado = new boolean[0];
+    private int temporalesVivos = 0;            // definidos y todavía sin usar
+
+    // --- Variables locales en registros $s ---
+    private static final int MAX_REGISTROS_S = 8;
+    private final Map<String, Integer> registroVariables = new HashMap<>(); // variable -> n de $sN
+    private int[] registroDeclaracion = new int[0]; // por DECL_LOCAL de la función (en orden), $s asignado o SIN_REGISTRO
+    private int contadorDeclaraciones = 0;
+    private int registrosSUsados = 0;           // La función actual usa $s0..$s(n-1)
     
-    public CodeGenerator(SymbolTable tablaSimbolos) {
-        this.codigo = new StringBuilder();
-        this.datosGlobales = new StringBuilder();
-        this.tablaSimbolos = tablaSimbolos;
+    public CodeGenerator() {
+        this.codigo = new ArrayList<>();
         this.registrosDisponibles = new Stack<>();
         this.offsetVariables = new HashMap<>();
         inicializarRegistros();
@@ -51,688 +104,925 @@ public class CodeGenerator {
     }
     
     /**
-     * Inicializa los registros disponibles (del $t0 al $t9)
+     * Inicializa los registros disponibles (del $t0 al $t9) y descarta los
+     * temporales de la sentencia anterior
      */
     private void inicializarRegistros() {
         registrosDisponibles.clear();
-        for (int i = 9; i >= 0; i--) {
+        for (int i = TEMP_REG_MAX; i >= TEMP_REG_MIN; i--) {
             registrosDisponibles.push(i);
         }
+        Arrays.fill(temporalEnRegistro, -1);
+        registroTemporal.clear();
+        ranuraTemporal.clear();
+        usoTemporal.clear();
+        constanteTemporal.clear();
+        origenConstante.clear();
     }
 
-    private String treg(int r) {
-        return "$t" + r;
+    /**
+     * Registro del temporal t; si estaba derramado lo recarga antes.
+     */
+    private Operando treg(int t) {
+        if (registroTemporal.get(t) == SIN_REGISTRO) {
+            asignarRegistro(t);
+            Operando r = Operando.t(registroTemporal.get(t));
+            if (constanteTemporal.get(t) != null) {
+                emitir(OpMIPS.LI, r, Operando.inmediato(constanteTemporal.get(t))).comentar(origenConstante.get(t));
+            } else {
+                emitir(OpMIPS.LW, r, enFrame(ranuraTemporal.get(t))).comentar("recargar temporal");
+            }
+        } else {
+            usoTemporal.set(t, ++relojUso);
+        }
+        return Operando.t(registroTemporal.get(t));
     }
 
+    /**
+     * Crea un temporal con un registro $t propio (derramando otro si no
+     * quedan libres).
+     */
     private int allocT() {
+        int t = nuevoTemporal(null, null);
+        asignarRegistro(t);
+        return t;
+    }
+
+    /**
+     * Crea un temporal con valor conocido; no ocupa registro hasta que
+     * alguien pide treg (entonces se carga con li).
+     */
+    private int allocConstante(int valor, String origen) {
+        return nuevoTemporal(valor, origen);
+    }
+
+    private int nuevoTemporal(Integer constante, String origen) {
+        int t = registroTemporal.size();
+        registroTemporal.add(SIN_REGISTRO);
+        ranuraTemporal.add(0);
+        usoTemporal.add(0);
+        constanteTemporal.add(constante);
+        origenConstante.add(origen);
+        return t;
+    }
+
+    private Integer constante(int t) {
+        return constanteTemporal.get(t);
+    }
+
+    /**
+     * Registro del temporal t para una instrucción que lo sobrescribe: desde
+     * ahí deja de ser una constante conocida.
+     */
+    private Operando tregModificable(int t) {
+        Operando r = treg(t);
+        constanteTemporal.set(t, null);
+        return r;
+    }
+
+    private void freeT(int t) {
+        int r = registroTemporal.get(t);
+        if (r == SIN_REGISTRO) return;
+        registroTemporal.set(t, SIN_REGISTRO);
+        temporalEnRegistro[r] = -1;
+        registrosDisponibles.push(r);
+    }
+
+    private void asignarRegistro(int t) {
         if (registrosDisponibles.isEmpty()) {
-            System.err.println("[CodeGenerator] ERROR: Sin registros temporales disponibles ($t0-$t9). Expresión demasiado compleja.");
-            return 0;
+            // El usado hace más tiempo: nunca es un operando de la instrucción en curso
+            int victima = -1;
+            for (int r = TEMP_REG_MIN; r <= TEMP_REG_MAX; r++) {
+                int v = temporalEnRegistro[r];
+                if (v >= 0 && (victima < 0 || usoTemporal.get(v) < usoTemporal.get(victima))) {
+                    victima = v;
+                }
+            }
+            derramar(victima);
         }
         int r = registrosDisponibles.pop();
-        if (r < TEMP_REG_MIN || r > TEMP_REG_MAX) return 0;
-        return r;
+        registroTemporal.set(t, r);
+        temporalEnRegistro[r] = t;
+        usoTemporal.set(t, ++relojUso);
     }
 
-    private void freeT(int r) {
-        if (r < TEMP_REG_MIN || r > TEMP_REG_MAX) return;
-        // Evitar duplicados en la pila
-        if (!registrosDisponibles.contains(r)) {
+    // Guarda el temporal en su ranura del frame (la reserva la primera vez) y libera su registro
+    private void derramar(int t) {
+        int r = registroTemporal.get(t);
+        if (constanteTemporal.get(t) != null) {
+            // Se vuelve a cargar con li cuando haga falta
+            registroTemporal.set(t, SIN_REGISTRO);
+            temporalEnRegistro[r] = -1;
             registrosDisponibles.push(r);
+            return;
+        }
+        if (ranuraTemporal.get(t) == 0) {
+            emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(-4)).comentar("ranura de derrame");
+            offsetMemoria += 4;
+            bytesDerrame += 4;
+            ranuraTemporal.set(t, offsetMemoria);
         }
+        emitir(OpMIPS.SW, Operando.t(r), enFrame(ranuraTemporal.get(t))).comentar("derramar temporal");
+        registroTemporal.set(t, SIN_REGISTRO);
+        temporalEnRegistro[r] = -1;
+        registrosDisponibles.push(r);
     }
-    
+
+    // Antes de un jal: la función llamada puede usar cualquier $t
+    private void derramarVivos() {
+        for (int r = TEMP_REG_MIN; r <= TEMP_REG_MAX; r++) {
+            if (temporalEnRegistro[r] >= 0) {
+                derramar(temporalEnRegistro[r]);
+            }
+        }
+    }
+
+    // Libera las ranuras de derrame al terminar la sentencia
+    private void liberarDerrames() {
+        if (bytesDerrame > 0) {
+            emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(bytesDerrame)).comentar("Liberar ranuras de derrame");
+            offsetMemoria -= bytesDerrame;
+            bytesDerrame = 0;
+        }
+    }
+
     /**
      * Genera el prólogo del programa MIPS
      */
     private void generarPrologo() {
         // Sección de datos
-        datosGlobales.append(".data\n");
-        datosGlobales.append("    # Sección de datos - variables globales\n");
-        datosGlobales.append("    newline: .asciiz \"\\n\"\n");
-        datosGlobales.append("    space: .asciiz \" \"\n");
-        datosGlobales.append("    prompt_write: .asciiz \"Valor: \"\n");
+        datosGlobales.add(InstruccionMIPS.seccion(".data"));
+        datosGlobales.add(InstruccionMIPS.comentario("Sección de datos - variables globales"));
+        datosGlobales.add(InstruccionMIPS.dato("newline", ".asciiz \"\\n\""));
+        datosGlobales.add(InstruccionMIPS.dato("space", ".asciiz \" \""));
+        datosGlobales.add(InstruccionMIPS.dato("prompt_write", ".asciiz \"Valor: \""));
         
         // Sección de código
-        emitir(".text");
-        emitir("    .globl main");
-        emitir("    main:");
-        emitir("        # Prólogo: guardar registros y ajustar stack pointer");
-        emitir("        addi $sp, $sp, -8          # Reservar espacio en la pila");
-        emitir("        sw $ra, 4($sp)             # Guardar dirección de retorno");
-        emitir("        sw $fp, 0($sp)             # Guardar frame pointer");
-        emitir("        move $fp, $sp              # Establecer frame pointer (base del frame)");
-        emitir("");
+        codigo.add(InstruccionMIPS.seccion(".text"));
+        codigo.add(InstruccionMIPS.directiva(".globl main"));
+        emitirEtiqueta("main");
+        emitirComentario("Prólogo: guardar registros y ajustar stack pointer");
+        emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(-8)).comentar("Reservar espacio en la pila");
+        emitir(OpMIPS.SW, Operando.RA, Operando.memoria(4, Operando.SP)).comentar("Guardar dirección de retorno");
+        emitir(OpMIPS.SW, Operando.FP, Operando.memoria(0, Operando.SP)).comentar("Guardar frame pointer");
+        emitir(OpMIPS.MOVE, Operando.FP, Operando.SP).comentar("Establecer frame pointer (base del frame)");
+        codigo.add(InstruccionMIPS.vacia());
     }
     
     /**
      * Genera el epílogo del programa MIPS
      */
     private void generarEpilogo() {
-        emitir("");
-        emitir(LABEL_SALIDA_PROGRAMA + ":");
-        emitir("        # Epílogo: restaurar registros y retornar");
-        emitir("        move $sp, $fp              # Restaurar stack pointer al frame");
-        emitir("        lw $ra, 4($sp)             # Restaurar dirección de retorno");
-        emitir("        lw $fp, 0($sp)             # Restaurar frame pointer");
-        emitir("        addi $sp, $sp, 8           # Liberar espacio en la pila");
-        emitir("        li $v0, 10                 # Salir (QtSPIM)");
-        emitir("        syscall");
-        emitir("");
-        emitir("    # Fin del programa");
+        codigo.add(InstruccionMIPS.vacia());
+        emitirEtiqueta(LABEL_SALIDA_PROGRAMA);
+        emitirComentario("Epílogo: restaurar registros y retornar");
+        emitir(OpMIPS.MOVE, Operando.SP, Operando.FP).comentar("Restaurar stack pointer al frame");
+        emitir(OpMIPS.LW, Operando.RA, Operando.memoria(4, Operando.SP)).comentar("Restaurar dirección de retorno");
+        emitir(OpMIPS.LW, Operando.FP, Operando.memoria(0, Operando.SP)).comentar("Restaurar frame pointer");
+        emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(8)).comentar("Liberar espacio en la pila");
+        emitir(OpMIPS.LI, Operando.V0, Operando.inmediato(10)).comentar("Salir (QtSPIM)");
+        emitir(OpMIPS.SYSCALL);
+        codigo.add(InstruccionMIPS.vacia());
+        emitirComentario("Fin del programa");
     }
 
     /**
-     * Genera una expresión y devuelve el registro $tN donde queda el resultado.
-     * Nota: Este método NO debe llamar generarCodigo() para evitar interferencias.
+     * Traduce una cuadrupla a MIPS. Cada temporal del código intermedio se
+     * asocia con un temporal virtual del asignador; los que nadie usa se
+     * liberan apenas se definen.
      */
-    private int genExpr(arbol nodo) {
-        if (nodo == null) {
-            int r = allocT();
-            emitir("    li " + treg(r) + ", 0");
-            return r;
-        }
-
-        switch (nodo.tipo) {
-            case "LITERAL_INT": {
-                int r = allocT();
-                emitir("    li " + treg(r) + ", " + nodo.valor + "          # literal int");
-                return r;
-            }
-            case "LITERAL_BOOL": {
+    private void traducir(Cuadrupla c) {
+        switch (c.op) {
+            case CONSTANTE:
+                definir(c.destino, allocConstante(c.valor, c.nombre));
+                break;
+            case LITERAL: {
                 int r = allocT();
-                int v = (nodo.valor != null && nodo.valor.equalsIgnoreCase("true")) ? 1 : 0;
-                emitir("    li " + treg(r) + ", " + v + "          # literal bool");
-                return r;
+                emitir(OpMIPS.LI, treg(r), Operando.literal(c.nombre)).comentar("literal int");
+                definir(c.destino, r);
+                break;
             }
-            case "IDENT": {
+            case CARGAR: {
                 int r = allocT();
-                String variable = nodo.valor;
-                if (offsetVariables.containsKey(variable)) {
-                    emitir("    lw " + treg(r) + ", " + (-offsetVariables.get(variable)) + "($fp)   # local " + variable);
+                Operando registroS = registroDe(c.nombre, c.global);
+                if (registroS != null) {
+                    emitir(OpMIPS.MOVE, treg(r), registroS).comentar("local " + c.nombre);
+                } else if (esLocal(c.nombre, c.global)) {
+                    emitir(OpMIPS.LW, treg(r), enFrame(offsetVariables.get(c.nombre))).comentar("local " + c.nombre);
                 } else {
-                    emitir("    lw " + treg(r) + ", " + variable + "    # global " + variable);
+                    emitir(OpMIPS.LW, treg(r), Operando.etiqueta(c.nombre)).comentar("global " + c.nombre);
                 }
-                return r;
+                definir(c.destino, r);
+                break;
             }
-            case "LLAMADA": {
-                int r = allocT();
-                String nombreFunc = nodo.valor;
-                emitir("    # Llamada a función: " + nombreFunc);
-                emitir("    jal " + nombreFunc);
-                emitir("    move " + treg(r) + ", $v0");
-                return r;
+            case BINARIA: {
+                int rl = usar(c.a);
+                int rr = usar(c.b);
+                definir(c.destino, operacionBinaria(c.operador, rl, rr));
+                break;
             }
-            case "OPERACION": {
-                String op = nodo.valor;
-
-                if (nodo.hijos.size() == 2) {
-                    int rl = genExpr(nodo.hijos.get(0));
-                    int rr = genExpr(nodo.hijos.get(1));
-
-                    switch (op) {
-                        case "+":
-                        case "++": // requerido: solo binario
-                            emitir("    add " + treg(rl) + ", " + treg(rl) + ", " + treg(rr) + "");
-                            break;
-                        case "-":
-                        case "--": // por consistencia si llegase a existir binario
-                            emitir("    sub " + treg(rl) + ", " + treg(rl) + ", " + treg(rr) + "");
-                            break;
-                        case "*":
-                            emitir("    mult " + treg(rl) + ", " + treg(rr));
-                            emitir("    mflo " + treg(rl));
-                            break;
-                        case "/":
-                        case "//":
-                                        // Proteger contra división por cero (evita excepción en QtSPIM)
-                                        {
-                                            String lOk = generarLabelFor("L_div_ok_");
-                                            String lEnd = generarLabelFor("L_div_end_");
-                                            emitir("    bne " + treg(rr) + ", $zero, " + lOk);
-                                            emitir("    li " + treg(rl) + ", 0");
-                                            emitir("    j " + lEnd);
-                                            emitir(lOk + ":");
-                                            emitir("    div " + treg(rl) + ", " + treg(rr));
-                                            emitir("    mflo " + treg(rl));
-                                            emitir(lEnd + ":");
-                                        }
-                            break;
-                        case "%":
-                                        {
-                                            String lOk = generarLabelFor("L_mod_ok_");
-                                            String lEnd = generarLabelFor("L_mod_end_");
-                                            emitir("    bne " + treg(rr) + ", $zero, " + lOk);
-                                            emitir("    li " + treg(rl) + ", 0");
-                                            emitir("    j " + lEnd);
-                                            emitir(lOk + ":");
-                                            emitir("    div " + treg(rl) + ", " + treg(rr));
-                                            emitir("    mfhi " + treg(rl));
-                                            emitir(lEnd + ":");
-                                        }
-                            break;
-                        case "^": {
-                            // Potencia entera simple: rl ^ rr
-                            String lLoop = generarLabelFor("L_pow_loop_");
-                            String lEnd = generarLabelFor("L_pow_end_");
-                            int rRes = allocT();
-                            emitir("    li " + treg(rRes) + ", 1");
-                            emitir(lLoop + ":");
-                            emitir("    blez " + treg(rr) + ", " + lEnd);
-                            emitir("    mult " + treg(rRes) + ", " + treg(rl));
-                            emitir("    mflo " + treg(rRes));
-                            emitir("    addi " + treg(rr) + ", " + treg(rr) + ", -1");
-                            emitir("    j " + lLoop);
-                            emitir(lEnd + ":");
-                            emitir("    move " + treg(rl) + ", " + treg(rRes));
-                            freeT(rRes);
-                            break;
-                        }
-                        case "==":
-                            emitir("    xor " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            emitir("    sltiu " + treg(rl) + ", " + treg(rl) + ", 1");
-                            break;
-                        case "!=":
-                            emitir("    xor " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            emitir("    sltu " + treg(rl) + ", $zero, " + treg(rl));
-                            break;
-                        case "<":
-                            emitir("    slt " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            break;
-                        case ">":
-                            emitir("    slt " + treg(rl) + ", " + treg(rr) + ", " + treg(rl));
-                            break;
-                        case "<=":
-                            emitir("    slt " + treg(rl) + ", " + treg(rr) + ", " + treg(rl));
-                            emitir("    xori " + treg(rl) + ", " + treg(rl) + ", 1");
-                            break;
-                        case ">=":
-                            emitir("    slt " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            emitir("    xori " + treg(rl) + ", " + treg(rl) + ", 1");
-                            break;
-                        case "AND":
-                            emitir("    sltu " + treg(rl) + ", $zero, " + treg(rl));
-                            emitir("    sltu " + treg(rr) + ", $zero, " + treg(rr));
-                            emitir("    and " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            break;
-                        case "OR":
-                            emitir("    sltu " + treg(rl) + ", $zero, " + treg(rl));
-                            emitir("    sltu " + treg(rr) + ", $zero, " + treg(rr));
-                            emitir("    or " + treg(rl) + ", " + treg(rl) + ", " + treg(rr));
-                            break;
-                        default:
-                            System.err.println("[CodeGenerator] Operador binario no soportado en MIPS: " + op);
-                            // devolver el operando izquierdo como fallback
-                            break;
-                    }
-
-                    freeT(rr);
-                    return rl;
-                }
-
-                if (nodo.hijos.size() == 1) {
-                    // Operación unaria
-                    arbol operando = nodo.hijos.get(0);
-
-                    // Nota: el parser actual produce i++ / ++i como OPERACION("++") con 1 hijo.
-                    // Aunque el requerimiento es "solo binario", aquí lo tratamos como AZÚCAR
-                    // para i = i + 1 / i = i - 1, porque si no, el FOR se encicla.
-                    if ("++".equals(op) || "--".equals(op)) {
-                        if (operando == null || !"IDENT".equals(operando.tipo)) {
-                            System.err.println("[CodeGenerator] ERROR: '" + op + "' requiere IDENT como operando.");
-                            return genExpr(operando);
-                        }
-
-                        String var = operando.valor;
-                        int r = allocT();
-                        if (offsetVariables.containsKey(var)) {
-                            emitir("    lw " + treg(r) + ", " + (-offsetVariables.get(var)) + "($fp)   # local " + var);
-                        } else {
-                            emitir("    lw " + treg(r) + ", " + var + "    # global " + var);
-                        }
-
-                        int delta = "++".equals(op) ? 1 : -1;
-                        emitir("    addi " + treg(r) + ", " + treg(r) + ", " + delta);
-
-                        if (offsetVariables.containsKey(var)) {
-                            emitir("    sw " + treg(r) + ", " + (-offsetVariables.get(var)) + "($fp)   # guardar local " + var);
-                        } else {
-                            emitir("    sw " + treg(r) + ", " + var + "    # guardar global " + var);
-                        }
-                        return r;
-                    }
-
-                    int r = genExpr(operando);
-                    switch (op) {
-                        case "-":
-                            emitir("    sub " + treg(r) + ", $zero, " + treg(r));
-                            break;
-                        case "NOT":
-                            // Normalizar a 0/1 y negar
-                            emitir("    sltu " + treg(r) + ", $zero, " + treg(r));
-                            emitir("    xori " + treg(r) + ", " + treg(r) + ", 1");
-                            break;
-                        default:
-                            System.err.println("[CodeGenerator] Operador unario no soportado en MIPS: " + op);
-                            break;
-                    }
-                    return r;
-                }
-
+            case UNARIA:
+                definir(c.destino, operacionUnaria(c.operador, usar(c.a)));
+                break;
+            case INCREMENTAR:
+                definir(c.destino, incrementar(c.nombre, c.global, c.valor));
+                break;
+            case LLAMAR: {
+                emitirComentario("Llamada a función: " + c.nombre);
+                derramarVivos();
+                emitir(OpMIPS.JAL, Operando.etiqueta(c.nombre));
                 int r = allocT();
-                emitir("    li " + treg(r) + ", 0");
-                return r;
+                emitir(OpMIPS.MOVE, treg(r), Operando.V0);
+                definir(c.destino, r);
+                break;
             }
-            default: {
-                // Fallback: evaluar hijos y devolver último
-                if (nodo.hijos != null && !nodo.hijos.isEmpty()) {
-                    int last = 0;
-                    for (arbol h : nodo.hijos) {
-                        last = genExpr(h);
-                    }
-                    return last;
+            case DECLARAR:
+                if (c.global) {
+                    declararGlobal(c.nombre);
+                } else {
+                    declararLocal(c.nombre, c.valor != 0);
                 }
-                int r = allocT();
-                emitir("    li " + treg(r) + ", 0");
-                return r;
-            }
+                break;
+            case GUARDAR:
+                cargarEnT0(c.a);
+                guardar(c.nombre, c.global);
+                break;
+            case IMPRIMIR:
+                cargarEnT0(c.a);
+                imprimirEnteroEnT0ConSalto();
+                break;
+            case RETORNAR:
+                retornar(c.a);
+                break;
+            case SALTAR:
+                emitir(OpMIPS.J, Operando.etiqueta(Cuadrupla.nombreEtiqueta(c.etiqueta)));
+                break;
+            case SALTAR_SI_CERO:
+                cargarEnT0(c.a);
+                emitir(OpMIPS.BEQ, Operando.t(0), Operando.ZERO, Operando.etiqueta(Cuadrupla.nombreEtiqueta(c.etiqueta)));
+                break;
+            case SALTAR_SI_NO_CERO:
+                cargarEnT0(c.a);
+                emitir(OpMIPS.BNE, Operando.t(0), Operando.ZERO, Operando.etiqueta(Cuadrupla.nombreEtiqueta(c.etiqueta)));
+                break;
+            case ABRIR_BLOQUE:
+                // Iniciar scope de variables locales para este bloque
+                bytesAllocadosEnBloque.push(0);
+                varsPorBloque.push(new ArrayList<>());
+                break;
+            case CERRAR_BLOQUE:
+                cerrarBloque();
+                break;
+            default:
+                Log.error("[CodeGenerator] Cuadrupla no soportada: " + c);
+                break;
         }
     }
 
-    /** Evalúa una expresión y deja el resultado en $t0 (interfaz usada por sentencias). */
-    private void genExprToT0(arbol nodo) {
-        inicializarRegistros();
-        int r = genExpr(nodo);
-        if (r != 0) {
-            emitir("    move $t0, " + treg(r));
+    // El temporal t del código intermedio queda en el temporal virtual r
+    private void definir(int t, int r) {
+        temporalVirtual[t] = r;
+        temporalesVivos++;
+        if (!temporalUsado[t]) {
+            freeT(r);
+            terminarUso();
         }
-        // Reset bookkeeping para evitar fugas de registros entre expresiones
-        inicializarRegistros();
     }
-    
+
+    // Temporal virtual de t (operando de una operación que define otro temporal)
+    private int usar(int t) {
+        temporalesVivos--;
+        return temporalVirtual[t];
+    }
+
+    // Sin temporales vivos termina la expresión: se liberan sus ranuras de derrame
+    private void terminarUso() {
+        if (--temporalesVivos == 0) {
+            liberarDerrames();
+            // Reset bookkeeping para evitar fugas de registros entre expresiones
+            inicializarRegistros();
+        }
+    }
+
     /**
-     * Método principal que genera código para un árbol completo
+     * Deja en $t0 el valor de una expresión (interfaz usada por sentencias).
      */
-    public void generarCodigo(arbol nodo) {
-        if (nodo == null) return;
-        
-        System.out.println("  [GENERACIÓN] Procesando nodo: " + nodo.tipo);
-        
-        switch (nodo.tipo) {
-            case "PROGRAM":
-                generarProgram(nodo);
-                break;
-            case "GLOBALES":
-                generarGlobales(nodo);
-                break;
-            case "DECL_GLOBAL":
-                generarDeclGlobal(nodo);
-                break;
-            case "FUNCIONES":
-                generarFunciones(nodo);
-                break;
-            case "FUNCION":
-                generarFuncion(nodo);
-                break;
-            case "MAIN":
-                generarMain(nodo);
-                break;
-            case "BLOQUE":
-                generarBloque(nodo);
+    private void cargarEnT0(int t) {
+        Operando r = treg(temporalVirtual[t]);
+        if (r != Operando.t(0)) {
+            emitir(OpMIPS.MOVE, Operando.t(0), r);
+        }
+        terminarUso();
+    }
+
+    private int operacionBinaria(Operador op, int rl, int rr) {
+        Integer cl = constante(rl);
+        Integer cr = constante(rr);
+        if (cl != null && cr != null) {
+            freeT(rl);
+            freeT(rr);
+            return allocConstante(PlegadoConstantes.operar(op, cl, cr), "constante plegada");
+        }
+        int simplificado = simplificar(op, rl, rr, cl, cr);
+        if (simplificado >= 0) {
+            if (rl != simplificado) freeT(rl);
+            if (rr != simplificado) freeT(rr);
+            return simplificado;
+        }
+        // Ambos operandos en registro antes de cualquier salto interno
+        tregModificable(rl);
+        tregModificable(rr);
+
+        switch (op) {
+            case SUMA:
+            case INCREMENTO: // requerido: solo binario
+                emitir(OpMIPS.ADD, treg(rl), treg(rl), treg(rr));
                 break;
-            case "SENTENCIAS":
-                generarSentencias(nodo);
+            case RESTA:
+            case DECREMENTO: // por consistencia si llegase a existir binario
+                emitir(OpMIPS.SUB, treg(rl), treg(rl), treg(rr));
                 break;
-            case "DECL_LOCAL":
-                generarDeclLocal(nodo);
+            case MULTIPLICACION:
+                emitir(OpMIPS.MULT, treg(rl), treg(rr));
+                emitir(OpMIPS.MFLO, treg(rl));
                 break;
-            case "ASIGNACION":
-                generarAsignacion(nodo);
+            case DIVISION:
+            case DIVISION_ENTERA:
+                            // Proteger contra división por cero (evita excepción en QtSPIM)
+                            {
+                                String lOk = generarLabelFor("L_div_ok_");
+                                String lEnd = generarLabelFor("L_div_end_");
+                                emitir(OpMIPS.BNE, treg(rr), Operando.ZERO, Operando.etiqueta(lOk));
+                                emitir(OpMIPS.LI, treg(rl), Operando.inmediato(0));
+                                emitir(OpMIPS.J, Operando.etiqueta(lEnd));
+                                emitirEtiqueta(lOk);
+                                emitir(OpMIPS.DIV, treg(rl), treg(rr));
+                                emitir(OpMIPS.MFLO, treg(rl));
+                                emitirEtiqueta(lEnd);
+                            }
                 break;
-            case "ASIGNACION_ARRAY":
-                generarAsignacionArray(nodo);
+            case MODULO:
+                            {
+                                String lOk = generarLabelFor("L_mod_ok_");
+                                String lEnd = generarLabelFor("L_mod_end_");
+                                emitir(OpMIPS.BNE, treg(rr), Operando.ZERO, Operando.etiqueta(lOk));
+                                emitir(OpMIPS.LI, treg(rl), Operando.inmediato(0));
+                                emitir(OpMIPS.J, Operando.etiqueta(lEnd));
+                                emitirEtiqueta(lOk);
+                                emitir(OpMIPS.DIV, treg(rl), treg(rr));
+                                emitir(OpMIPS.MFHI, treg(rl));
+                                emitirEtiqueta(lEnd);
+                            }
                 break;
-            case "OPERACION":
-                genExprToT0(nodo);
+            case POTENCIA: {
+                // Potencia entera simple: rl ^ rr
+                String lLoop = generarLabelFor("L_pow_loop_");
+                String lEnd = generarLabelFor("L_pow_end_");
+                int rRes = allocT();
+                emitir(OpMIPS.LI, treg(rRes), Operando.inmediato(1));
+                // Reservar rRes pudo derramar un operando: recargarlo fuera del ciclo
+                treg(rl);
+                treg(rr);
+                emitirEtiqueta(lLoop);
+                emitir(OpMIPS.BLEZ, treg(rr), Operando.etiqueta(lEnd));
+                emitir(OpMIPS.MULT, treg(rRes), treg(rl));
+                emitir(OpMIPS.MFLO, treg(rRes));
+                emitir(OpMIPS.ADDI, treg(rr), treg(rr), Operando.inmediato(-1));
+                emitir(OpMIPS.J, Operando.etiqueta(lLoop));
+                emitirEtiqueta(lEnd);
+                emitir(OpMIPS.MOVE, treg(rl), treg(rRes));
+                freeT(rRes);
                 break;
-            case "LITERAL_INT":
-                genExprToT0(nodo);
+            }
+            case IGUAL:
+                emitir(OpMIPS.XOR, treg(rl), treg(rl), treg(rr));
+                emitir(OpMIPS.SLTIU, treg(rl), treg(rl), Operando.inmediato(1));
                 break;
-            case "LITERAL_FLOAT":
-                generarLiteralFloat(nodo);
+            case DISTINTO:
+                emitir(OpMIPS.XOR, treg(rl), treg(rl), treg(rr));
+                emitir(OpMIPS.SLTU, treg(rl), Operando.ZERO, treg(rl));
                 break;
-            case "LITERAL_BOOL":
-                genExprToT0(nodo);
+            case MENOR:
+                emitir(OpMIPS.SLT, treg(rl), treg(rl), treg(rr));
                 break;
-            case "IDENT":
-                genExprToT0(nodo);
+            case MAYOR:
+                emitir(OpMIPS.SLT, treg(rl), treg(rr), treg(rl));
                 break;
-            case "LLAMADA":
-                genExprToT0(nodo);
+            case MENOR_IGUAL:
+                emitir(OpMIPS.SLT, treg(rl), treg(rr), treg(rl));
+                emitir(OpMIPS.XORI, treg(rl), treg(rl), Operando.inmediato(1));
                 break;
-            case "ARRAY_ACCESS":
-                generarArrayAccess(nodo);
+            case MAYOR_IGUAL:
+                emitir(OpMIPS.SLT, treg(rl), treg(rl), treg(rr));
+                emitir(OpMIPS.XORI, treg(rl), treg(rl), Operando.inmediato(1));
                 break;
-            case "DECIDE":
-                generarDecide(nodo);
+            case AND:
+                emitir(OpMIPS.SLTU, treg(rl), Operando.ZERO, treg(rl));
+                emitir(OpMIPS.SLTU, treg(rr), Operando.ZERO, treg(rr));
+                emitir(OpMIPS.AND, treg(rl), treg(rl), treg(rr));
                 break;
-            case "LOOP":
-                generarLoop(nodo);
+            case OR:
+                emitir(OpMIPS.SLTU, treg(rl), Operando.ZERO, treg(rl));
+                emitir(OpMIPS.SLTU, treg(rr), Operando.ZERO, treg(rr));
+                emitir(OpMIPS.OR, treg(rl), treg(rl), treg(rr));
                 break;
-            case "FOR":
-                generarFor(nodo);
+            default:
+                Log.error("[CodeGenerator] Operador binario no soportado en MIPS: " + op);
+                // devolver el operando izquierdo como fallback
                 break;
-            case "RETURN":
-                generarReturn(nodo);
+        }
+
+        freeT(rr);
+        return rl;
+    }
+
+    private int operacionUnaria(Operador op, int r) {
+        Integer c = constante(r);
+        if (c != null && (op == Operador.RESTA || op == Operador.NOT)) {
+            freeT(r);
+            return allocConstante(PlegadoConstantes.operar(op, c), "constante plegada");
+        }
+        tregModificable(r);
+        switch (op) {
+            case RESTA:
+                emitir(OpMIPS.SUB, treg(r), Operando.ZERO, treg(r));
                 break;
-            case "BREAK":
-                emitir("    j " + generarLabel());
+            case NOT:
+                // Normalizar a 0/1 y negar
+                emitir(OpMIPS.SLTU, treg(r), Operando.ZERO, treg(r));
+                emitir(OpMIPS.XORI, treg(r), treg(r), Operando.inmediato(1));
                 break;
             default:
-                // Para otros nodos, procesamos recursivamente
-                for (arbol hijo : nodo.hijos) {
-                    generarCodigo(hijo);
-                }
+                Log.error("[CodeGenerator] Operador unario no soportado en MIPS: " + op);
+                break;
         }
+        return r;
     }
-    
-    /**
-     * Genera código para el programa completo
-     */
-    private void generarProgram(arbol nodo) {
-        System.out.println("  [SEMÁNTICA] Analizando PROGRAM");
-        
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
+
+    // ++ / --: suma delta a la variable y devuelve el valor nuevo
+    private int incrementar(String var, boolean global, int delta) {
+        int r = allocT();
+        Operando registroS = registroDe(var, global);
+        if (registroS != null) {
+            emitir(OpMIPS.ADDI, registroS, registroS, Operando.inmediato(delta)).comentar("local " + var);
+            emitir(OpMIPS.MOVE, treg(r), registroS);
+            return r;
         }
-        
-        generarEpilogo();
+        boolean local = esLocal(var, global);
+        Operando direccion = local ? enFrame(offsetVariables.get(var)) : Operando.etiqueta(var);
+        emitir(OpMIPS.LW, treg(r), direccion).comentar((local ? "local " : "global ") + var);
+        emitir(OpMIPS.ADDI, treg(r), treg(r), Operando.inmediato(delta));
+        emitir(OpMIPS.SW, treg(r), direccion).comentar((local ? "guardar local " : "guardar global ") + var);
+        return r;
     }
-    
+
     /**
-     * Genera código para declaraciones globales
+     * Operación binaria con un solo operando constante (cl o cr): emite una
+     * forma más barata si la hay y devuelve el temporal del resultado, o -1
+     * para usar la traducción general. Los dos operandos ya se evaluaron, así
+     * que descartar uno no pierde efectos (llamadas, ++).
      */
-    private void generarDeclGlobal(arbol nodo) {
-        String nomVariable = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Declaración global de: " + nomVariable);
-        // Reservar espacio en .data para la variable global
-        datosGlobales.append("    " + nomVariable + ": .word 0\n");
-        
-        emitir("    # Declaración global: " + nomVariable);
-        
-        if (nodo.hijos.size() > 0) {
-            arbol tipo = nodo.hijos.get(0);
-            System.out.println("    - Tipo: " + tipo.valor);
-            
-            // Si hay inicialización (segundo hijo)
-            if (nodo.hijos.size() > 1) {
-                arbol inicializacion = nodo.hijos.get(1);
-                System.out.println("    - Con inicialización");
-                genExprToT0(inicializacion);
-                emitir("    sw $t0, " + nomVariable);
-                emitir("    # Fin inicialización de " + nomVariable);
+    private int simplificar(Operador op, int rl, int rr, Integer cl, Integer cr) {
+        switch (op) {
+            case SUMA:
+                if (cr != null && cr == 0) return rl;
+                if (cl != null && cl == 0) return rr;
+                if (cr != null && PlegadoConstantes.cabeEnInmediato(cr)) return sumarInmediato(rl, cr);
+                if (cl != null && PlegadoConstantes.cabeEnInmediato(cl)) return sumarInmediato(rr, cl);
+                return -1;
+            case RESTA:
+                if (cr != null && cr == 0) return rl;
+                if (cr != null && cr != Integer.MIN_VALUE && PlegadoConstantes.cabeEnInmediato(-cr)) return sumarInmediato(rl, -cr);
+                if (cl != null && cl == 0) return negar(rr);
+                return -1;
+            case MULTIPLICACION:
+                if (cr != null) return multiplicarPorConstante(rl, cr);
+                if (cl != null) return multiplicarPorConstante(rr, cl);
+                return -1;
+            case DIVISION:
+            case DIVISION_ENTERA:
+                // 0 / x es 0 también si x es 0 (el código generado da 0)
+                if (cl != null && cl == 0) return allocConstante(0, "constante plegada");
+                if (cr == null) return -1;
+                if (cr == 0) return allocConstante(0, "división por cero");
+                if (cr == 1) return rl;
+                if (cr == -1) return negar(rl);
+                if (PlegadoConstantes.esPotenciaDeDos(cr)) return dividirPorPotenciaDeDos(rl, Integer.numberOfTrailingZeros(cr), false);
+                return -1;
+            case MODULO:
+                if (cl != null && cl == 0) return allocConstante(0, "constante plegada");
+                if (cr == null) return -1;
+                if (cr == 0 || cr == 1 || cr == -1) return allocConstante(0, "constante plegada");
+                if (PlegadoConstantes.esPotenciaDeDos(cr)) return dividirPorPotenciaDeDos(rl, Integer.numberOfTrailingZeros(cr), true);
+                return -1;
+            case POTENCIA:
+                if (cl != null && cl == 1) return allocConstante(1, "constante plegada");
+                if (cr == null) return -1;
+                if (cr <= 0) return allocConstante(1, "constante plegada");
+                if (cr == 1) return rl;
+                if (cr <= 64) return potenciaConstante(rl, cr);
+                return -1;
+            case MENOR:
+                if (cr != null && PlegadoConstantes.cabeEnInmediato(cr)) {
+                    Operando r = tregModificable(rl);
+                    emitir(OpMIPS.SLTI, r, r, Operando.inmediato(cr));
+                    return rl;
+                }
+                return -1;
+            case AND:
+            case OR: {
+                Integer c = cl != null ? cl : cr;
+                if (c == null) return -1;
+                int otro = cl != null ? rr : rl;
+                // x @ falso = 0, x ~ verdadero = 1; si no, el resultado es x normalizado a 0/1
+                if ((op == Operador.AND) == (c == 0)) return allocConstante(op == Operador.AND ? 0 : 1, "constante plegada");
+                Operando r = tregModificable(otro);
+                emitir(OpMIPS.SLTU, r, Operando.ZERO, r);
+                return otro;
             }
+            default:
+                return -1;
         }
     }
-    
-    /**
-     * Genera código para la función main
-     */
-    private void generarMain(arbol nodo) {
-        System.out.println("  [SEMÁNTICA] Analizando MAIN");
 
-        boolean prevMain = enMain;
-        boolean prevFun = enFuncion;
-        enMain = true;
-        enFuncion = false;
-        
-        // Procesar los hijos (normalmente un BLOQUE)
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
-        }
-
-        enMain = prevMain;
-        enFuncion = prevFun;
+    private int sumarInmediato(int t, int inmediato) {
+        Operando r = tregModificable(t);
+        emitir(OpMIPS.ADDI, r, r, Operando.inmediato(inmediato));
+        return t;
     }
-    
-    /**
-     * Genera código para operaciones binarias y unarias
-     */
-    private void generarOperacion(arbol nodo) {
-        // La evaluación de expresiones se hace vía genExpr/genExprToT0.
-        genExprToT0(nodo);
+
+    private int negar(int t) {
+        Operando r = tregModificable(t);
+        emitir(OpMIPS.SUB, r, Operando.ZERO, r);
+        return t;
     }
-    
-    /**
-     * Genera literales enteros
-     */
-    private void generarLiteralInt(arbol nodo) {
-        String valor = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Literal INT: " + valor);
-        
-        emitir("    li $t0, " + valor + "          # Cargar literal: " + valor);
+
+    private int multiplicarPorConstante(int t, int c) {
+        if (c == 0) return allocConstante(0, "constante plegada");
+        if (c == 1) return t;
+        if (c == -1) return negar(t);
+        if (PlegadoConstantes.esPotenciaDeDos(c)) {
+            Operando r = tregModificable(t);
+            emitir(OpMIPS.SLL, r, r, Operando.inmediato(Integer.numberOfTrailingZeros(c)));
+            return t;
+        }
+        return -1;
     }
-    
+
     /**
-     * Genera código para identificadores
+     * x / 2^k o x % 2^k con desplazamientos, truncando hacia cero como div:
+     * a un x negativo se le suma 2^k - 1 antes de desplazar.
      */
-    private void generarIdent(arbol nodo) {
-        String variable = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Referencia a variable: " + variable);
-        
-        // Verificar en tabla de símbolos (análisis semántico básico)
-        SymbolTable.Table tablasGlobales = tablaSimbolos.obtenerTabla("GLOBAL");
-        if (tablasGlobales != null && tablasGlobales.existe(variable)) {
-            Token token = tablasGlobales.buscar(variable);
-            System.out.println("    - Variable encontrada en tabla de símbolos");
-            System.out.println("    - Tipo: " + token.getTipo());
+    private int dividirPorPotenciaDeDos(int t, int k, boolean modulo) {
+        int aux = allocT();
+        Operando ra = treg(aux);
+        Operando r = tregModificable(t);
+        emitir(OpMIPS.SRA, ra, r, Operando.inmediato(31));
+        emitir(OpMIPS.SRL, ra, ra, Operando.inmediato(32 - k));
+        emitir(OpMIPS.ADD, ra, r, ra);
+        emitir(OpMIPS.SRA, ra, ra, Operando.inmediato(k));
+        if (modulo) {
+            emitir(OpMIPS.SLL, ra, ra, Operando.inmediato(k));
+            emitir(OpMIPS.SUB, r, r, ra);
         } else {
-            System.out.println("    [ADVERTENCIA] Variable '" + variable + "' no encontrada en tabla de símbolos");
+            emitir(OpMIPS.MOVE, r, ra);
         }
-        
-        if (offsetVariables.containsKey(variable)) {
-            emitir("    lw $t0, " + (-offsetVariables.get(variable)) + "($fp)   # Cargar local " + variable);
-        } else {
-            emitir("    lw $t0, " + variable + "    # Cargar global " + variable);
+        freeT(aux);
+        return t;
+    }
 
+    // x ^ n con n conocido: cuadrados sucesivos en lugar del ciclo L_pow_loop_
+    private int potenciaConstante(int t, int n) {
+        int resultado = -1;
+        int base = t;
+        while (true) {
+            if ((n & 1) != 0) {
+                if (resultado < 0) {
+                    resultado = allocT();
+                    emitir(OpMIPS.MOVE, treg(resultado), treg(base));
+                } else {
+                    Operando rr = treg(resultado);
+                    emitir(OpMIPS.MULT, rr, treg(base));
+                    emitir(OpMIPS.MFLO, treg(resultado));
+                }
+            }
+            n >>= 1;
+            if (n == 0) break;
+            Operando rb = tregModificable(base);
+            emitir(OpMIPS.MULT, rb, rb);
+            emitir(OpMIPS.MFLO, treg(base));
         }
+        return resultado;
+    }
 
+    /**
+     * Método principal que genera código para un árbol completo: lo baja a
+     * código intermedio (GeneradorIR) y traduce cada grafo de flujo. El
+     * programa queda en memoria hasta guardarCodigo.
+     */
+    public void generarCodigo(arbol nodo) {
+        if (nodo == null) return;
+
+        GeneradorIR.generar(nodo, this::traducirUnidad);
+        terminarPrograma();
     }
-    
+
     /**
-     * Emite una línea de código MIPS
+     * Modo streaming: cada unidad se escribe en cuanto se traduce, así que
+     * en memoria solo están la unidad en curso y la sección .data. El código
+     * va a un archivo temporal junto al destino; al final se escribe .data
+     * en rutaArchivo y se le agrega el código, de canal a canal. El .asm es
+     * el mismo que con generarCodigo + guardarCodigo.
      */
-    private void emitir(String linea) {
-        codigo.append(linea).append("\n");
-    }
-
-    private boolean esExpresionComoSentencia(arbol nodo) {
-        if (nodo == null) return false;
-        switch (nodo.tipo) {
-            case "OPERACION":
-            case "IDENT":
-            case "LITERAL_INT":
-            case "LITERAL_BOOL":
-            case "LLAMADA":
-            case "ARRAY_ACCESS":
-                return true;
-            default:
-                return false;
+    public void generarCodigo(arbol nodo, String rutaArchivo) throws IOException {
+        Path destino = Paths.get(rutaArchivo);
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".texto.tmp");
+        try {
+            try (EscritorMIPS escritor = EscritorMIPS.aArchivo(temporal.toString())) {
+                salidaStreaming = escritor;
+                if (nodo != null) {
+                    GeneradorIR.generar(nodo, this::traducirUnidad);
+                    terminarPrograma();
+                }
+                volcar();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                salidaStreaming = null;
+            }
+
+            List<InstruccionMIPS> cabecera = new ArrayList<>(datosGlobales);
+            cabecera.add(InstruccionMIPS.vacia());
+            EscritorMIPS.escribirConCabecera(rutaArchivo, cabecera, temporal);
+            Log.info("\n  Código MIPS guardado en: " + rutaArchivo);
+        } finally {
+            Files.deleteIfExists(temporal);
         }
     }
 
-    private void imprimirEnteroEnT0ConSalto() {
-        emitir("    move $a0, $t0");
-        emitir("    li $v0, 1");
-        emitir("    syscall");
-        emitir("    la $a0, newline");
-        emitir("    li $v0, 4");
-        emitir("    syscall");
+    private void traducirUnidad(GrafoFlujo unidad) {
+        // Lo anterior (prólogo o la unidad previa) ya no cambia: se vuelca
+        volcar();
+        Log.detalle(() -> "  [CÓDIGO INTERMEDIO] " + unidad);
+        generarUnidad(unidad);
     }
-    
+
+    // La última unidad se vuelca junto con el epílogo
+    private void terminarPrograma() {
+        generarEpilogo();
+        volcar();
+        Log.detalle(() -> "  [MIRILLA] " + mirilla.getTotalAciertos() + " reescrituras\n" + mirilla.resumen()
+                + "  [INALCANZABLE] " + bloquesDescartados + " bloques sin emitir");
+    }
+
     /**
-     * Genera un nuevo label único
+     * Pasa la mirilla por lo emitido desde el último volcado y lo escribe
+     * (modo streaming) o lo agrega al programa. Se corta entre unidades,
+     * donde ningún $t queda vivo.
      */
-    private String generarLabel() {
-        return "L" + (labelContador++);
+    private void volcar() {
+        List<InstruccionMIPS> tramo = mirilla.optimizar(codigo);
+        codigo = new ArrayList<>();
+        if (salidaStreaming == null) {
+            programa.addAll(tramo);
+            return;
+        }
+        try {
+            salidaStreaming.escribirTodas(tramo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
-     * Version 2 de generarLabel
-     * ********************
-     * @return
+     * Traduce una unidad bloque por bloque, en el orden del grafo.
      */
+    private void generarUnidad(GrafoFlujo unidad) {
+        temporalVirtual = new int[unidad.getCantidadTemporales()];
+        temporalUsado = new boolean[unidad.getCantidadTemporales()];
+        temporalesVivos = 0;
+        for (BloqueBasico bloque : unidad.getBloques()) {
+            for (Cuadrupla c : bloque.getInstrucciones()) {
+                if (c.a != Cuadrupla.SIN_TEMPORAL) temporalUsado[c.a] = true;
+                if (c.b != Cuadrupla.SIN_TEMPORAL) temporalUsado[c.b] = true;
+            }
+        }
 
-    private String generarLabelFor(String prefix) {
-        return prefix + (labelContador++);
-    }
+        unidadActual = unidad.getTipo();
+        int bytesGuardados = 0;
+        if (unidadActual == TipoNodo.FUNCION) {
+            bytesGuardados = abrirFuncion(unidad);
+        } else if (unidadActual == TipoNodo.MAIN) {
+            // main termina con syscall 10: no necesita preservar los $s que use
+            asignarRegistrosS(unidad);
+        }
 
+        for (BloqueBasico bloque : unidad.getBloques()) {
+            if (!bloque.isAlcanzable()) {
+                traducirDescartado(bloque);
+                continue;
+            }
+            if (bloque.getEtiqueta() != Cuadrupla.SIN_ETIQUETA) {
+                emitirEtiqueta(Cuadrupla.nombreEtiqueta(bloque.getEtiqueta()));
+            }
+            for (Cuadrupla c : bloque.getInstrucciones()) {
+                traducir(c);
+            }
+        }
 
+        if (unidadActual == TipoNodo.FUNCION) {
+            cerrarFuncion(bytesGuardados, unidad.llegaAlFinal());
+        }
+        unidadActual = null;
+    }
 
-    
     /**
-     * Obtiene el registro temporal siguiente
+     * Un bloque inalcanzable solo trae declaraciones y aperturas y cierres
+     * de alcance: se traducen para que los offsets y los $s de las locales
+     * sigan la cuenta, pero lo que emiten se tira.
      */
-    private int obtenerRegistro() {
-        return allocT();
+    private void traducirDescartado(BloqueBasico bloque) {
+        List<InstruccionMIPS> emitido = codigo;
+        codigo = new ArrayList<>();
+        for (Cuadrupla c : bloque.getInstrucciones()) {
+            traducir(c);
+        }
+        codigo = emitido;
+        bloquesDescartados++;
     }
-    
+
     /**
-     * Obtiene el código MIPS generado (combinando datos y código)
+     * Prólogo de una función; devuelve los bytes de $s guardados en el frame.
      */
-    public String obtenerCodigo() {
-        return datosGlobales.toString() + "\n" + codigo.toString();
+    private int abrirFuncion(GrafoFlujo unidad) {
+        String nombreFunc = unidad.getNombre();
+        Log.detalle(() -> "  [GENERACIÓN] Función: " + nombreFunc);
+
+        codigo.add(InstruccionMIPS.vacia());
+        emitirComentario("Función: " + nombreFunc);
+        emitirEtiqueta(nombreFunc);
+        emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(-8));
+        emitir(OpMIPS.SW, Operando.RA, Operando.memoria(4, Operando.SP));
+        emitir(OpMIPS.SW, Operando.FP, Operando.memoria(0, Operando.SP));
+        emitir(OpMIPS.MOVE, Operando.FP, Operando.SP);
+
+        // Los $s son preservados por quien los usa: guardar los de esta función
+        asignarRegistrosS(unidad);
+        int bytesGuardados = 4 * registrosSUsados;
+        if (bytesGuardados > 0) {
+            emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(-bytesGuardados));
+            for (int n = 0; n < registrosSUsados; n++) {
+                emitir(OpMIPS.SW, Operando.s(n), enFrame(4 * (n + 1)));
+            }
+            offsetMemoria += bytesGuardados;
+        }
+        return bytesGuardados;
     }
-    
+
     /**
-     * Guarda el código MIPS en un archivo
+     * Epílogo implícito de una función, solo si se llega al final sin un
+     * return; si no, nada de lo que se emitiera podría ejecutarse.
      */
-    public void guardarCodigo(String rutaArchivo) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(rutaArchivo))) {
-            writer.write(obtenerCodigo());
-            System.out.println("\n  Código MIPS guardado en: " + rutaArchivo);
+    private void cerrarFuncion(int bytesGuardados, boolean llegaAlFinal) {
+        if (llegaAlFinal) {
+            emitirComentario("Retorno de función (implícito)");
+            salirDeFuncion();
         }
+
+        offsetMemoria -= bytesGuardados;
+        registrosSUsados = 0;
     }
-    
-    // ===== MÉTODOS PARA MANEJO DE GLOBALES =====
-    
+
     /**
-     * código para el bloque de globales
+     * Indica si la variable está en la pila: una global (según la
+     * declaración anotada por PasadaSemantica) nunca es local aunque otra
+     * variable del mismo nombre siga en offsetVariables.
      */
-    private void generarGlobales(arbol nodo) {
-        System.out.println("  [GENERACIÓN] Analizando declaraciones globales");
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
-        }
+    private boolean esLocal(String variable, boolean global) {
+        return !global && offsetVariables.containsKey(variable);
     }
-    
-    // ===== MÉTODOS PARA MANEJO DE FUNCIONES =====
-    
+
     /**
-     *  código para el bloque de funciones
+     * Registro $s de la variable local, o null si vive en memoria (pila o
+     * .data).
      */
-    private void generarFunciones(arbol nodo) {
-        System.out.println("  [GENERACIÓN] Analizando funciones definidas");
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
-        }
+    private Operando registroDe(String variable, boolean global) {
+        if (global) return null;
+        Integer s = registroVariables.get(variable);
+        return s != null ? Operando.s(s) : null;
     }
-    
+
     /**
-     * código para una función individual
+     * Elige qué DECL_LOCAL del cuerpo de una función van a registros $s:
+     * las de más peso, contando cada uso de su nombre como 10^(ciclos que
+     * lo rodean). Las declaraciones se numeran en preorden, el mismo orden
+     * en que declararLocal las encuentra; las que quedaron en un bloque
+     * inalcanzable no se emiten y no compiten por un registro.
      */
-    private void generarFuncion(arbol nodo) {
-        String nombreFunc = nodo.valor;
-        System.out.println("  [GENERACIÓN] Función: " + nombreFunc);
-
-        boolean prevMain = enMain;
-        boolean prevFun = enFuncion;
-        enMain = false;
-        enFuncion = true;
-        
-        emitir("");
-        emitir("    # Función: " + nombreFunc);
-        emitir("    " + nombreFunc + ":");
-        emitir("        addi $sp, $sp, -8");
-        emitir("        sw $ra, 4($sp)");
-        emitir("        sw $fp, 0($sp)");
-        emitir("        move $fp, $sp");
-        
-        // Procesar bloque de función
-        for (arbol hijo : nodo.hijos) {
-            if (hijo.tipo.equals("BLOQUE")) {
-                generarCodigo(hijo);
-            }
-        }
+    private void asignarRegistrosS(GrafoFlujo unidad) {
+        arbol cuerpo = unidad.getOrigen();
+        List<arbol> declaraciones = new ArrayList<>();
+        Map<String, Long> pesos = new HashMap<>();
+        RecorridoArbol.recorrer(cuerpo, new VisitanteArbol() {
+            private int ciclos = 0;
 
-        emitir("        # Retorno de función (implícito)");
-        emitir("        move $sp, $fp");
-        emitir("        lw $ra, 4($sp)");
-        emitir("        lw $fp, 0($sp)");
-        emitir("        addi $sp, $sp, 8");
-        emitir("        jr $ra");
+            @Override
+            public boolean entrar(arbol nodo, int profundidad) {
+                switch (nodo.tipoNodo) {
+                    case LOOP:
+                    case FOR:
+                        ciclos++;
+                        break;
+                    case DECL_LOCAL:
+                        declaraciones.add(nodo);
+                        break;
+                    case IDENT:
+                    case ASIGNACION: {
+                        long peso = 1;
+                        for (int i = 0; i < Math.min(ciclos, 6); i++) peso *= 10;
+                        pesos.merge(nodo.valor, peso, Long::sum);
+                        break;
+                    }
+                    default:
+                        break;
+                }
+                return true;
+            }
 
-        enMain = prevMain;
-        enFuncion = prevFun;
-    }
-    
-    /**
-     * código para bloques de código
-     */
-    private void generarBloque(arbol nodo) {
-        System.out.println("  [GENERACIÓN] Abriendo bloque");
-        profundidadBloque++;
+            @Override
+            public void salir(arbol nodo, int profundidad) {
+                if (nodo.tipoNodo == TipoNodo.LOOP || nodo.tipoNodo == TipoNodo.FOR) ciclos--;
+            }
+        });
 
-        // Iniciar scope de variables locales para este bloque
-        bytesAllocadosEnBloque.push(0);
-        varsPorBloque.push(new ArrayList<>());
-        
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
+        // Las DECLARAR locales del grafo van en el mismo orden que las DECL_LOCAL
+        boolean[] alcanzable = new boolean[declaraciones.size()];
+        int k = 0;
+        for (BloqueBasico bloque : unidad.getBloques()) {
+            for (Cuadrupla c : bloque.getInstrucciones()) {
+                if (c.op == OpIR.DECLARAR && !c.global) {
+                    if (k < alcanzable.length) alcanzable[k] = bloque.isAlcanzable();
+                    k++;
+                }
+            }
         }
 
-        // Salir del scope: liberar offsets y espacio de stack
-        List<String> vars = varsPorBloque.pop();
-        for (String v : vars) {
-            offsetVariables.remove(v);
+        // Candidatas: escalares alcanzables usados al menos una vez, de mayor a menor peso
+        List<Integer> candidatas = new ArrayList<>();
+        for (int i = 0; i < declaraciones.size(); i++) {
+            arbol decl = declaraciones.get(i);
+            boolean arreglo = decl.hijos.size() > 1 && decl.hijos.get(1).tipoNodo == TipoNodo.ARRAY_INIT;
+            if (alcanzable[i] && !arreglo && pesos.getOrDefault(decl.valor, 0L) > 0) candidatas.add(i);
         }
+        candidatas.sort((x, y) -> Long.compare(pesos.get(declaraciones.get(y).valor),
+                                               pesos.get(declaraciones.get(x).valor)));
+        List<Integer> elegidas = candidatas.subList(0, Math.min(MAX_REGISTROS_S, candidatas.size()));
+        Collections.sort(elegidas);
 
-        int bytesBloque = bytesAllocadosEnBloque.pop();
-        if (bytesBloque > 0) {
-            emitir("    # Liberar espacio de locales");
-            emitir("    addi $sp, $sp, " + bytesBloque);
-            offsetMemoria -= bytesBloque;
+        registroDeclaracion = new int[declaraciones.size()];
+        Arrays.fill(registroDeclaracion, SIN_REGISTRO);
+        for (int n = 0; n < elegidas.size(); n++) {
+            registroDeclaracion[elegidas.get(n)] = n;
         }
-        
-        profundidadBloque--;
+        registrosSUsados = elegidas.size();
+        contadorDeclaraciones = 0;
     }
-    
+
     /**
-     * código para lista de sentencias
+     * Reserva una variable global en .data
      */
-    private void generarSentencias(arbol nodo) {
-        for (arbol hijo : nodo.hijos) {
-            if (esExpresionComoSentencia(hijo)) {
-                // Regla: stmt ::= expr ENDL. Aquí le damos semántica de "print expr".
-                genExprToT0(hijo);
-                imprimirEnteroEnT0ConSalto();
-                continue;
-            }
-            generarCodigo(hijo);
-        }
+    private void declararGlobal(String nomVariable) {
+        datosGlobales.add(InstruccionMIPS.dato(nomVariable, ".word 0"));
+        emitirComentario("Declaración global: " + nomVariable);
     }
-    
+
     /**
-     *  código para declaraciones locales
+     * Reserva una variable local: un registro $s si la eligió
+     * asignarRegistrosS, si no 4 bytes en la pila. La inicialización llega
+     * después como un GUARDAR.
      */
-    private void generarDeclLocal(arbol nodo) {
-        String nomVariable = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Declaración local: " + nomVariable);
-        
+    private void declararLocal(String nomVariable, boolean inicializada) {
+        int n = contadorDeclaraciones++;
+        if (n < registroDeclaracion.length && registroDeclaracion[n] != SIN_REGISTRO) {
+            // Variable en registro: sin espacio en la pila
+            Operando registroS = Operando.s(registroDeclaracion[n]);
+            registroVariables.put(nomVariable, registroDeclaracion[n]);
+            offsetVariables.remove(nomVariable);
+            if (!varsPorBloque.isEmpty()) {
+                varsPorBloque.peek().add(nomVariable);
+            }
+            emitirComentario("Declaración local: " + nomVariable + " (en " + registroS + ")");
+            if (!inicializada) {
+                emitir(OpMIPS.MOVE, registroS, Operando.ZERO);
+            }
+            return;
+        }
+
         // Reservar 4 bytes y asignar offset (desde $fp hacia abajo)
-        emitir("    addi $sp, $sp, -4");
+        emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(-4));
         offsetMemoria += 4;
         offsetVariables.put(nomVariable, offsetMemoria);
+        registroVariables.remove(nomVariable);
 
         if (!bytesAllocadosEnBloque.isEmpty()) {
             bytesAllocadosEnBloque.push(bytesAllocadosEnBloque.pop() + 4);
@@ -740,217 +1030,143 @@ public class CodeGenerator {
         if (!varsPorBloque.isEmpty()) {
             varsPorBloque.peek().add(nomVariable);
         }
-        
-        emitir("    # Declaración local: " + nomVariable);
-        
-        if (nodo.hijos.size() > 1) {
-            // Tiene inicialización
-            arbol inicializacion = nodo.hijos.get(1);
-            System.out.println("    - Con inicialización");
-            genExprToT0(inicializacion);
-            emitir("    sw $t0, " + (-offsetVariables.get(nomVariable)) + "($fp)");
-        }
+
+        emitirComentario("Declaración local: " + nomVariable);
     }
-    
+
     /**
-     *  código para asignaciones mejorado
+     * Guarda $t0 en la variable
      */
-    private void generarAsignacion(arbol nodo) {
-        String variable = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Asignación a: " + variable);
-        
-        if (nodo.hijos.size() > 0) {
-            arbol expresion = nodo.hijos.get(0);
-            System.out.println("    - Expresión: " + expresion.tipo);
-            
-            emitir("    # Asignación: " + variable + " = ...");
-            genExprToT0(expresion);
-            
-            if (offsetVariables.containsKey(variable)) {
-                // Variable local
-                emitir("    sw $t0, " + (-offsetVariables.get(variable)) + "($fp)   # Guardar " + variable);
-            } else {
-                // Variable global
-                emitir("    sw $t0, " + variable + "    # Guardar global " + variable);
+    private void guardar(String variable, boolean global) {
+        Operando registroS = registroDe(variable, global);
+        if (registroS != null) {
+            emitir(OpMIPS.MOVE, registroS, Operando.t(0)).comentar("Guardar " + variable);
+        } else if (esLocal(variable, global)) {
+            // Variable local
+            emitir(OpMIPS.SW, Operando.t(0), enFrame(offsetVariables.get(variable))).comentar("Guardar " + variable);
+        } else {
+            // Variable global
+            emitir(OpMIPS.SW, Operando.t(0), Operando.etiqueta(variable)).comentar("Guardar global " + variable);
+        }
+    }
 
-            }
+    // Salir del scope: liberar offsets y espacio de stack
+    private void cerrarBloque() {
+        List<String> vars = varsPorBloque.pop();
+        for (String v : vars) {
+            offsetVariables.remove(v);
+            registroVariables.remove(v);
+        }
+
+        int bytesBloque = bytesAllocadosEnBloque.pop();
+        if (bytesBloque > 0) {
+            emitirComentario("Liberar espacio de locales");
+            emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(bytesBloque));
+            offsetMemoria -= bytesBloque;
         }
     }
-    
+
     /**
-     *  código para asignaciones de arreglos
+     * código para return: en main sale del programa, en una función
+     * restaura el frame y vuelve a quien llamó
      */
-    private void generarAsignacionArray(arbol nodo) {
-        System.out.println("  [SEMÁNTICA] Asignación a arreglo");
-        emitir("    # Asignación a arreglo");
-        // Procesar los hijos recursivamente
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
+    private void retornar(int t) {
+        if (t != Cuadrupla.SIN_TEMPORAL) {
+            cargarEnT0(t);
+            emitir(OpMIPS.MOVE, Operando.V0, Operando.t(0)).comentar("Mover resultado a $v0");
         }
+
+        if (unidadActual == TipoNodo.FUNCION) {
+            emitirComentario("Retorno de función");
+            salirDeFuncion();
+            return;
+        }
+
+        emitir(OpMIPS.J, Operando.etiqueta(LABEL_SALIDA_PROGRAMA)).comentar("return en main -> salir del programa");
     }
-    
-    /**
-     *  código para literales flotantes
-     */
-    private void generarLiteralFloat(arbol nodo) {
-        String valor = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Literal FLOAT: " + valor);
-        emitir("    li.s $f0, " + valor + "        # Cargar literal float: " + valor);
+
+    // Restaura los $s guardados y el frame, y vuelve a quien llamó
+    private void salirDeFuncion() {
+        for (int n = 0; n < registrosSUsados; n++) {
+            emitir(OpMIPS.LW, Operando.s(n), enFrame(4 * (n + 1)));
+        }
+        emitir(OpMIPS.MOVE, Operando.SP, Operando.FP);
+        emitir(OpMIPS.LW, Operando.RA, Operando.memoria(4, Operando.SP));
+        emitir(OpMIPS.LW, Operando.FP, Operando.memoria(0, Operando.SP));
+        emitir(OpMIPS.ADDI, Operando.SP, Operando.SP, Operando.inmediato(8));
+        emitir(OpMIPS.JR, Operando.RA);
     }
-    
+
     /**
-     *  código para literales booleanos
+     * Emite una instrucción MIPS; se devuelve para poder comentarla
      */
-    private void generarLiteralBool(arbol nodo) {
-        String valor = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Literal BOOL: " + valor);
-        int valorInt = valor.equalsIgnoreCase("true") ? 1 : 0;
-        emitir("    li $t0, " + valorInt + "          # Cargar literal bool: " + valor);
+    private InstruccionMIPS emitir(OpMIPS op, Operando... operandos) {
+        InstruccionMIPS ins = InstruccionMIPS.de(op, operandos);
+        codigo.add(ins);
+        return ins;
     }
-    
-    /**
-     *  código para llamadas a función
-     */
-    private void generarLlamada(arbol nodo) {
-        String nombreFunc = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Llamada a función: " + nombreFunc);
-        
-        emitir("    # Llamada a función: " + nombreFunc);
-        emitir("    jal " + nombreFunc);
-        emitir("    # Valor retornado en $v0");
+
+    private void emitirEtiqueta(String nombre) {
+        codigo.add(InstruccionMIPS.etiqueta(nombre));
     }
-    
-    /**
-     *  código para acceso a arreglos
-     */
-    private void generarArrayAccess(arbol nodo) {
-        String nombreArr = nodo.valor;
-        System.out.println("  [SEMÁNTICA] Acceso a arreglo: " + nombreArr);
-        
-        emitir("    # Acceso a arreglo: " + nombreArr);
-        // Procesar índices
-        for (arbol hijo : nodo.hijos) {
-            generarCodigo(hijo);
-        }
-        emitir("    # Índices en $t0 y $t1");
+
+    private void emitirComentario(String texto) {
+        codigo.add(InstruccionMIPS.comentario(texto));
     }
-    
-    /**
-     *  código para decide (switch)
-     */
-    private void generarDecide(arbol nodo) {
-        String labelSalida = generarLabel();
-        System.out.println("  [GENERACIÓN] DECIDE - label salida: " + labelSalida);
-        
-        emitir("    # Estructura DECIDE");
-        for (arbol hijo : nodo.hijos) {
-            if (hijo.tipo.equals("CASOS")) {
-                generarCasos(hijo, labelSalida);
-            } else if (hijo.tipo.equals("ELSE")) {
-                generarCodigo(hijo.hijos.get(0));
-            }
-        }
-        
-        emitir("    " + labelSalida + ":");
+
+    // Dirección de una ranura del frame (offset en bytes desde $fp hacia abajo)
+    private static Operando enFrame(int offset) {
+        return Operando.memoria(-offset, Operando.FP);
     }
-    
-    /**
-     *  código para casos del decide
-     */
-    private void generarCasos(arbol nodo, String labelSalida) {
-        for (arbol caso : nodo.hijos) {
-            if (caso.tipo.equals("CASO")) {
-                String labelSiguiente = generarLabel();
-                emitir("    # Caso");
-                generarCodigo(caso.hijos.get(0));  // condición
-                emitir("    beq $t0, $zero, " + labelSiguiente);
-                generarCodigo(caso.hijos.get(1));  // bloque
-                emitir("    j " + labelSalida);
-                emitir("    " + labelSiguiente + ":");
-            }
-        }
+
+    private void imprimirEnteroEnT0ConSalto() {
+        emitir(OpMIPS.MOVE, Operando.A0, Operando.t(0));
+        emitir(OpMIPS.LI, Operando.V0, Operando.inmediato(1));
+        emitir(OpMIPS.SYSCALL);
+        emitir(OpMIPS.LA, Operando.A0, Operando.etiqueta("newline"));
+        emitir(OpMIPS.LI, Operando.V0, Operando.inmediato(4));
+        emitir(OpMIPS.SYSCALL);
     }
-    
+
     /**
-     *  código para loop
+     * Label único para los saltos internos de una operación (las etiquetas
+     * del código intermedio se llaman L0, L1...)
      */
-    private void generarLoop(arbol nodo) {
-        String labelInicio = generarLabel();
-        String labelSalida = generarLabel();
-        
-        System.out.println("  [GENERACIÓN] LOOP");
-        emitir("    " + labelInicio + ":");
-        emitir("    # Cuerpo del loop");
-        
-        for (arbol hijo : nodo.hijos) {
-            if (hijo.tipo.equals("SENTENCIAS")) {
-                generarCodigo(hijo);
-            } else if (hijo.tipo.equals("EXIT")) {
-                emitir("    # Condición de salida");
-                genExprToT0(hijo.hijos.get(0));
-                emitir("    bne $t0, $zero, " + labelSalida);
-            }
-        }
-        
-        emitir("    j " + labelInicio);
-        emitir("    " + labelSalida + ":");
+    private String generarLabelFor(String prefix) {
+        return prefix + (labelContador++);
     }
-    
+
     /**
-     *  código para for
+     * Escribe el programa (sección .data y luego el código)
      */
-    private void generarFor(arbol nodo) {
-        String labelInicio = generarLabel();
-        String labelSalida = generarLabel();
-        
-        System.out.println("  [GENERACIÓN] FOR");
-        
-        // Inicialización
-        generarCodigo(nodo.hijos.get(0));
-        
-        emitir("    " + labelInicio + ":");
-        
-        // Condición
-        genExprToT0(nodo.hijos.get(1));
-        emitir("    beq $t0, $zero, " + labelSalida);
-        
-        // Bloque
-        generarCodigo(nodo.hijos.get(3));
-        
-        // Incremento
-        genExprToT0(nodo.hijos.get(2));
-        
-        emitir("    j " + labelInicio);
-        emitir("    " + labelSalida + ":");
+    public void escribirCodigo(EscritorMIPS escritor) throws IOException {
+        escritor.escribirTodas(datosGlobales);
+        escritor.escribir(InstruccionMIPS.vacia());
+        escritor.escribirTodas(programa);
+        escritor.escribirTodas(codigo);
     }
-    
+
     /**
-     *  código para return
+     * Obtiene el código MIPS generado como texto (para mostrarlo; al
+     * archivo se escribe sin pasar por aquí)
      */
-    private void generarReturn(arbol nodo) {
-        System.out.println("  [GENERACIÓN] RETURN");
-        
-        if (nodo.hijos.size() > 0) {
-            genExprToT0(nodo.hijos.get(0));
-            emitir("    move $v0, $t0             # Mover resultado a $v0");
-        }
-
-        if (enMain) {
-            emitir("    j " + LABEL_SALIDA_PROGRAMA + "        # return en main -> salir del programa");
-            return;
+    public String obtenerCodigo() {
+        StringWriter texto = new StringWriter();
+        try (EscritorMIPS escritor = new EscritorMIPS(texto)) {
+            escribirCodigo(escritor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return texto.toString();
+    }
 
-        if (enFuncion) {
-            emitir("    # Retorno de función");
-            emitir("    move $sp, $fp");
-            emitir("    lw $ra, 4($sp)");
-            emitir("    lw $fp, 0($sp)");
-            emitir("    addi $sp, $sp, 8");
-            emitir("    jr $ra");
-            return;
+    /**
+     * Guarda el código MIPS en un archivo
+     */
+    public void guardarCodigo(String rutaArchivo) throws IOException {
+        try (EscritorMIPS escritor = EscritorMIPS.aArchivo(rutaArchivo)) {
+            escribirCodigo(escritor);
+            Log.info("\n  Código MIPS guardado en: " + rutaArchivo);
         }
-
-        // Fallback
-        emitir("    j " + LABEL_SALIDA_PROGRAMA);
     }
 }
\ No newline at end of file
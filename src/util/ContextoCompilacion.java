@@ -0,0 +1,49 @@
+package util;
+
+/**
+ * Estado propio de una compilación: errores, identificadores internados y
+ * tabla de símbolos.
+ * La API estática de ErrorHandler (usada desde las acciones de parser.cup)
+ * opera sobre el contexto activo en el hilo actual, de modo que varias
+ * compilaciones pueden ejecutarse en paralelo sin compartir estado. Si un
+ * hilo no activa ningún contexto, usa uno propio creado al primer acceso.
+ */
+public class ContextoCompilacion {
+    private static final ThreadLocal<ContextoCompilacion> ACTUAL =
+            ThreadLocal.withInitial(ContextoCompilacion::new);
+
+    private final ErrorHandler errorHandler;            // Errores léxicos, sintácticos y semánticos
+    private final TablaIdentificadores identificadores; // Identificadores internados por el lexer
+    private final SymbolTable tablaSimbolos;            // Tabla de símbolos de la compilación
+
+    public ContextoCompilacion() {
+        this.errorHandler = new ErrorHandler();
+        this.identificadores = new TablaIdentificadores();
+        this.tablaSimbolos = new SymbolTable(identificadores);
+    }
+
+    /**
+     * Contexto activo en el hilo actual.
+     */
+    public static ContextoCompilacion actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Activa este contexto en el hilo actual.
+     */
+    public void activar() {
+        ACTUAL.set(this);
+    }
+
+    /**
+     * Quita el contexto activo del hilo actual.
+     */
+    public static void desactivar() {
+        ACTUAL.remove();
+    }
+
+    public ErrorHandler getErrorHandler() { return errorHandler; }
+    public TablaIdentificadores getIdentificadores() { return identificadores; }
+    public SymbolTable getTablaSimbolos() { return tablaSimbolos; }
+}
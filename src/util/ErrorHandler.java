@@ -13,93 +13,103 @@ import java.util.List;
  */
 
 // Clase para manejar errores léxicos y sintácticos
+// Cada compilación tiene su propia instancia (ver ContextoCompilacion);
+// los métodos estáticos operan sobre la instancia del contexto activo.
 public class ErrorHandler {
     // Lista para almacenar los mensajes de error
-    private static List<String> errores = new ArrayList<>();
+    private final List<String> errores = new ArrayList<>();
     // Contadores de errores
-    private static int erroresLexicos = 0;
+    private int erroresLexicos = 0;
     // Contador de errores sintácticos
-    private static int erroresSintacticos = 0;
+    private int erroresSintacticos = 0;
     // Contador de errores semánticos
-    private static int erroresSemanticos = 0;
+    private int erroresSemanticos = 0;
+
+    // Instancia de la compilación activa en el hilo actual
+    private static ErrorHandler actual() {
+        return ContextoCompilacion.actual().getErrorHandler();
+    }
+
+    // Registra un mensaje ya formateado en la instancia activa
+    private static void registrar(String error) {
+        actual().errores.add(error);
+        Log.error(error);
+    }
     
     // Agrega un error léxico a la lista
     public static void agregarErrorLexico(String mensaje, int linea, int columna) {
         // Incrementa el contador de errores léxicos
-        erroresLexicos++;
+        actual().erroresLexicos++;
         String error = String.format("ERROR LÉXICO (Línea %d, Columna %d): %s", 
                                     linea, columna, mensaje);
-        errores.add(error);
-        System.err.println(error);
+        registrar(error);
     }
     
     // Agrega un error sintáctico a la lista
     public static void agregarErrorSintactico(String mensaje, int linea, int columna) {
-        erroresSintacticos++;
+        actual().erroresSintacticos++;
         String error = String.format("ERROR SINTÁCTICO (Línea %d, Columna %d): %s", 
                                     linea, columna, mensaje);
-        errores.add(error);
-        System.err.println(error);
+        registrar(error);
     }
     
     // Agrega un error sintáctico sin información de línea y columna
     public static void agregarErrorSintactico(String mensaje) {
-        erroresSintacticos++;
+        actual().erroresSintacticos++;
         String error = String.format("ERROR SINTÁCTICO: %s", mensaje);
-        errores.add(error);
-        System.err.println(error);
+        registrar(error);
     }
     
     // Agrega un error semántico a la lista
     public static void agregarErrorSemantico(String mensaje) {
-        erroresSemanticos++;
+        actual().erroresSemanticos++;
         String error = String.format("ERROR SEMÁNTICO: %s", mensaje);
-        errores.add(error);
-        System.err.println(error);
+        registrar(error);
     }
     
     // Agrega un error semántico con información de línea y columna
     public static void agregarErrorSemantico(String mensaje, int linea, int columna) {
-        erroresSemanticos++;
+        actual().erroresSemanticos++;
         String error = String.format("ERROR SEMÁNTICO (Línea %d, Columna %d): %s", 
                                     linea, columna, mensaje);
-        errores.add(error);
-        System.err.println(error);
+        registrar(error);
     }
     
     // Obtiene la lista de errores registrados
     // error como tal ya está definido en parser.cup de manera interna
     // por eso se usa getErrores 
     public static List<String> getErrores() {
-        return new ArrayList<>(errores);
+        return new ArrayList<>(actual().errores);
     }
     
     // Obtiene el total de errores registrados
     public static int getTotalErrores() {
-        return erroresLexicos + erroresSintacticos + erroresSemanticos;
+        ErrorHandler h = actual();
+        return h.erroresLexicos + h.erroresSintacticos + h.erroresSemanticos;
     }
     
     // Obtiene el total de errores léxicos
     public static int getErroresLexicos() {
-        return erroresLexicos;
+        return actual().erroresLexicos;
     }
     
     // Obtiene el total de errores sintácticos
     public static int getErroresSintacticos() {
-        return erroresSintacticos;
+        return actual().erroresSintacticos;
     }
     
     // Obtiene el total de errores semánticos
     public static int getErroresSemanticos() {
-        return erroresSemanticos;
+        return actual().erroresSemanticos;
     }
 
     // Limpia la lista de errores y resetea los contadores
     public static void limpiar() {
-        errores.clear();
-        erroresLexicos = 0;
-        erroresSintacticos = 0;
-        erroresSemanticos = 0;
+        ErrorHandler h = actual();
+        h.errores.clear();
+        h.erroresLexicos = 0;
+        h.erroresSintacticos = 0;
+        h.erroresSemanticos = 0;
     }
 
 
@@ -109,36 +119,38 @@ public class ErrorHandler {
 
     
     public static void generarReporte(String archivoSalida) {
+        ErrorHandler h = actual();
         try (java.io.PrintWriter writer = new java.io.PrintWriter(archivoSalida)) {
             writer.println("=== REPORTE DE ERRORES ===");
-            writer.println("Total errores léxicos: " + erroresLexicos);
-            writer.println("Total errores sintácticos: " + erroresSintacticos);
-            writer.println("Total errores semánticos: " + erroresSemanticos);
+            writer.println("Total errores léxicos: " + h.erroresLexicos);
+            writer.println("Total errores sintácticos: " + h.erroresSintacticos);
+            writer.println("Total errores semánticos: " + h.erroresSemanticos);
             writer.println("Total errores: " + getTotalErrores());
             writer.println("\n=== LISTA DETALLADA ===");
             
-            for (String error : errores) {
+            for (String error : h.errores) {
                 writer.println(error);
             }
             
-            if (errores.isEmpty()) {
+            if (h.errores.isEmpty()) {
                 writer.println("No se encontraron errores.");
             }
         } catch (Exception e) {
-            System.err.println("Error al generar reporte: " + e.getMessage());
+            Log.error("Error al generar reporte: " + e.getMessage());
         }
     }
 
     // Muestra un resumen de errores en la consola
     
     public static void mostrarResumen() {
-        System.out.println("\n=== RESUMEN DE ERRORES ===");
-        System.out.println("Errores léxicos: " + erroresLexicos);
-        System.out.println("Errores sintácticos: " + erroresSintacticos);
-        System.out.println("Errores semánticos: " + erroresSemanticos);
-        System.out.println("Total errores: " + getTotalErrores());
+        ErrorHandler h = actual();
+        Log.info("\n=== RESUMEN DE ERRORES ===");
+        Log.info("Errores léxicos: " + h.erroresLexicos);
+        Log.info("Errores sintácticos: " + h.erroresSintacticos);
+        Log.info("Errores semánticos: " + h.erroresSemanticos);
+        Log.info("Total errores: " + getTotalErrores());
         if (getTotalErrores() == 0) {
-            System.out.println(" No se encontraron errores");
+            Log.info(" No se encontraron errores");
         }
     }
 }
@@ -0,0 +1,128 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Único lugar donde las InstruccionMIPS se vuelven texto: arma cada línea
+ * en un buffer reutilizado y la escribe en el canal de salida, sin pasar
+ * por un String con el programa entero.
+ *
+ * Formato: secciones y etiquetas en la columna 0, lo demás con sangría de
+ * cuatro espacios y los comentarios de las instrucciones alineados.
+ */
+public final class EscritorMIPS implements Closeable {
+
+    private static final String SANGRIA = "    ";
+    private static final int COLUMNA_COMENTARIO = 36;
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final Writer salida;
+    private final StringBuilder linea = new StringBuilder(128);
+    private char[] caracteres = new char[128];
+
+    public EscritorMIPS(Writer salida) {
+        this.salida = salida;
+    }
+
+    /**
+     * Escritor sobre un FileChannel del archivo (se crea o se trunca), con
+     * la codificación por defecto como el resto de los archivos de salida.
+     */
+    public static EscritorMIPS aArchivo(String ruta) throws IOException {
+        return new EscritorMIPS(escritorDeCanal(abrirParaEscribir(ruta)));
+    }
+
+    /**
+     * Escribe en ruta las líneas de cabecera y después el contenido de
+     * cuerpo, un archivo ya escrito que se copia de canal a canal sin
+     * cargarlo en memoria (así va .data antes del código en modo streaming).
+     */
+    public static void escribirConCabecera(String ruta, List<InstruccionMIPS> cabecera, Path cuerpo) throws IOException {
+        try (FileChannel destino = abrirParaEscribir(ruta);
+             FileChannel origen = FileChannel.open(cuerpo, StandardOpenOption.READ)) {
+            EscritorMIPS escritor = new EscritorMIPS(escritorDeCanal(destino));
+            escritor.escribirTodas(cabecera);
+            // flush y no close: cerrar el escritor cerraría también el canal
+            escritor.salida.flush();
+            long copiados = 0;
+            long total = origen.size();
+            while (copiados < total) {
+                copiados += origen.transferTo(copiados, total - copiados, destino);
+            }
+        }
+    }
+
+    private static FileChannel abrirParaEscribir(String ruta) throws IOException {
+        return FileChannel.open(Paths.get(ruta), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static Writer escritorDeCanal(FileChannel canal) {
+        return Channels.newWriter(canal, Charset.defaultCharset().newEncoder(), TAMANO_BUFFER);
+    }
+
+    public void escribir(InstruccionMIPS ins) throws IOException {
+        linea.setLength(0);
+        formatear(ins, linea);
+        linea.append('\n');
+        int largo = linea.length();
+        if (caracteres.length < largo) caracteres = new char[Math.max(largo, 2 * caracteres.length)];
+        linea.getChars(0, largo, caracteres, 0);
+        salida.write(caracteres, 0, largo);
+    }
+
+    public void escribirTodas(List<InstruccionMIPS> lineas) throws IOException {
+        for (InstruccionMIPS ins : lineas) escribir(ins);
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+
+    static void formatear(InstruccionMIPS ins, StringBuilder sb) {
+        switch (ins.getClase()) {
+            case INSTRUCCION: {
+                int inicio = sb.length();
+                sb.append(SANGRIA).append(ins.getOp().getMnemonico());
+                for (int i = 0; i < ins.getCantidadOperandos(); i++) {
+                    sb.append(i == 0 ? " " : ", ");
+                    ins.getOperando(i).escribir(sb);
+                }
+                if (ins.getComentario() != null) {
+                    do {
+                        sb.append(' ');
+                    } while (sb.length() - inicio < COLUMNA_COMENTARIO);
+                    sb.append("# ").append(ins.getComentario());
+                }
+                break;
+            }
+            case ETIQUETA:
+                sb.append(ins.getTexto()).append(':');
+                break;
+            case SECCION:
+                sb.append(ins.getTexto());
+                break;
+            case DIRECTIVA:
+                sb.append(SANGRIA).append(ins.getTexto());
+                break;
+            case DATO:
+                sb.append(SANGRIA).append(ins.getTexto()).append(": ").append(ins.getDefinicion());
+                break;
+            case COMENTARIO:
+                sb.append(SANGRIA).append("# ").append(ins.getTexto());
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package util;
+
+/**
+ * Operación registrada sobre la tabla de símbolos.
+ * Guarda referencias a los datos ya existentes (nombres de alcance,
+ * identificador internado) y solo arma el texto al pedirlo con toString().
+ */
+public final class EventoTabla {
+    public enum Tipo { CREAR_ALCANCE, SALIR_ALCANCE, AGREGAR }
+
+    private final Tipo tipo;
+    private final String alcance;               // Alcance donde ocurre la operación
+    private final String alcanceDestino;        // SALIR_ALCANCE: alcance al que se vuelve
+    private final Identificador identificador;  // AGREGAR: identificador agregado
+    private final int nivel;                    // CREAR_ALCANCE: nivel de anidamiento
+
+    private EventoTabla(Tipo tipo, String alcance, String alcanceDestino,
+                        Identificador identificador, int nivel) {
+        this.tipo = tipo;
+        this.alcance = alcance;
+        this.alcanceDestino = alcanceDestino;
+        this.identificador = identificador;
+        this.nivel = nivel;
+    }
+
+    public static EventoTabla crearAlcance(String alcance, int nivel) {
+        return new EventoTabla(Tipo.CREAR_ALCANCE, alcance, null, null, nivel);
+    }
+
+    public static EventoTabla salirAlcance(String alcance, String alcanceDestino) {
+        return new EventoTabla(Tipo.SALIR_ALCANCE, alcance, alcanceDestino, null, 0);
+    }
+
+    public static EventoTabla agregar(Identificador identificador, String alcance) {
+        return new EventoTabla(Tipo.AGREGAR, alcance, null, identificador, 0);
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public String getAlcance() { return alcance; }
+    public String getAlcanceDestino() { return alcanceDestino; }
+    public Identificador getIdentificador() { return identificador; }
+    public int getNivel() { return nivel; }
+
+    // Mismo texto que mostraba el historial de operaciones
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case CREAR_ALCANCE: return "CREAR ALCANCE: " + alcance + " (Nivel: " + nivel + ")";
+            case SALIR_ALCANCE: return "SALIR ALCANCE: " + alcance + " -> " + alcanceDestino;
+            default:            return "AGREGAR: " + identificador + " en " + alcance;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Destino de los eventos de la tabla de símbolos.
+ * - NINGUNO: no guarda nada; SymbolTable ni siquiera crea los eventos.
+ * - Circular: conserva los últimos N eventos en un buffer circular.
+ */
+public interface HistorialTabla {
+
+    // Historial desactivado (valor por defecto)
+    HistorialTabla NINGUNO = new HistorialTabla() {
+        @Override public boolean activo() { return false; }
+        @Override public void registrar(EventoTabla evento) {}
+        @Override public List<EventoTabla> eventos() { return Collections.emptyList(); }
+        @Override public long totalRegistrados() { return 0; }
+        @Override public void limpiar() {}
+    };
+
+    // false si registrar no hace nada (el llamador puede evitar crear el evento)
+    boolean activo();
+
+    void registrar(EventoTabla evento);
+
+    // Eventos conservados, del más antiguo al más reciente
+    List<EventoTabla> eventos();
+
+    // Cantidad de eventos registrados desde el inicio (incluye los descartados)
+    long totalRegistrados();
+
+    void limpiar();
+
+    /**
+     * Conserva los últimos 'capacidad' eventos; los más antiguos se descartan.
+     */
+    final class Circular implements HistorialTabla {
+        private final EventoTabla[] buffer;
+        private long total;                  // Eventos registrados desde el inicio
+
+        public Circular(int capacidad) {
+            if (capacidad <= 0) {
+                throw new IllegalArgumentException("La capacidad del historial debe ser positiva: " + capacidad);
+            }
+            this.buffer = new EventoTabla[capacidad];
+            this.total = 0;
+        }
+
+        @Override public boolean activo() { return true; }
+
+        @Override
+        public void registrar(EventoTabla evento) {
+            buffer[(int) (total % buffer.length)] = evento;
+            total++;
+        }
+
+        @Override
+        public List<EventoTabla> eventos() {
+            int cantidad = (int) Math.min(total, buffer.length);
+            List<EventoTabla> lista = new ArrayList<>(cantidad);
+            for (long i = total - cantidad; i < total; i++) {
+                lista.add(buffer[(int) (i % buffer.length)]);
+            }
+            return lista;
+        }
+
+        @Override public long totalRegistrados() { return total; }
+
+        public int getCapacidad() { return buffer.length; }
+
+        @Override
+        public void limpiar() {
+            Arrays.fill(buffer, null);
+            total = 0;
+        }
+    }
+}
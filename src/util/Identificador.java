@@ -0,0 +1,26 @@
+package util;
+
+/**
+ * Identificador internado por el lexer.
+ * Cada nombre distinto de una compilación recibe un id denso (0, 1, 2, ...)
+ * que las tablas de símbolos usan como clave en lugar del String.
+ * toString() devuelve el nombre, así que las acciones de parser.cup
+ * (id.toString()) siguen funcionando igual.
+ */
+public final class Identificador {
+    private final int id;            // Id denso dentro de su TablaIdentificadores
+    private final String nombre;     // Lexema del identificador
+
+    Identificador(int id, String nombre) {
+        this.id = id;
+        this.nombre = nombre;
+    }
+
+    public int getId() { return id; }
+    public String getNombre() { return nombre; }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
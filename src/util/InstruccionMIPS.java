@@ -0,0 +1,153 @@
+package util;
+
+/**
+ * Línea del código MIPS: una instrucción (OpMIPS y sus operandos) o una
+ * etiqueta, directiva, dato de .data, comentario o línea vacía. Las
+ * instrucciones se pueden reescribir en su lugar (OptimizadorMirilla); el
+ * texto lo arma EscritorMIPS al final.
+ */
+public final class InstruccionMIPS {
+
+    public enum Clase { INSTRUCCION, ETIQUETA, SECCION, DIRECTIVA, DATO, COMENTARIO, VACIA }
+
+    // Máscara con los diez registros $t0-$t9
+    static final int TODOS_LOS_TEMPORALES = (1 << 10) - 1;
+
+    private static final Operando[] SIN_OPERANDOS = new Operando[0];
+
+    private final Clase clase;
+    private OpMIPS op;                  // INSTRUCCION
+    private Operando[] operandos;       // INSTRUCCION
+    private final String texto;         // nombre de la etiqueta o del dato, directiva o comentario
+    private final String definicion;    // DATO: lo que sigue al nombre (".word 0")
+    private String comentario;          // comentario al final de la instrucción, o null
+
+    private InstruccionMIPS(Clase clase, OpMIPS op, Operando[] operandos, String texto, String definicion) {
+        this.clase = clase;
+        this.op = op;
+        this.operandos = operandos;
+        this.texto = texto;
+        this.definicion = definicion;
+    }
+
+    public static InstruccionMIPS de(OpMIPS op, Operando... operandos) {
+        return new InstruccionMIPS(Clase.INSTRUCCION, op, operandos, null, null);
+    }
+
+    public static InstruccionMIPS etiqueta(String nombre) {
+        return new InstruccionMIPS(Clase.ETIQUETA, null, SIN_OPERANDOS, nombre, null);
+    }
+
+    // .data o .text
+    public static InstruccionMIPS seccion(String nombre) {
+        return new InstruccionMIPS(Clase.SECCION, null, SIN_OPERANDOS, nombre, null);
+    }
+
+    public static InstruccionMIPS directiva(String texto) {
+        return new InstruccionMIPS(Clase.DIRECTIVA, null, SIN_OPERANDOS, texto, null);
+    }
+
+    public static InstruccionMIPS dato(String nombre, String definicion) {
+        return new InstruccionMIPS(Clase.DATO, null, SIN_OPERANDOS, nombre, definicion);
+    }
+
+    public static InstruccionMIPS comentario(String texto) {
+        return new InstruccionMIPS(Clase.COMENTARIO, null, SIN_OPERANDOS, texto, null);
+    }
+
+    public static InstruccionMIPS vacia() {
+        return new InstruccionMIPS(Clase.VACIA, null, SIN_OPERANDOS, null, null);
+    }
+
+    // Agrega un comentario al final de la instrucción
+    public InstruccionMIPS comentar(String comentario) {
+        this.comentario = comentario;
+        return this;
+    }
+
+    public Clase getClase() { return clase; }
+    public OpMIPS getOp() { return op; }
+    public Operando getOperando(int i) { return operandos[i]; }
+    public int getCantidadOperandos() { return operandos.length; }
+    public String getTexto() { return texto; }
+    public String getDefinicion() { return definicion; }
+    public String getComentario() { return comentario; }
+
+    public boolean esInstruccion() { return clase == Clase.INSTRUCCION; }
+    public boolean esEtiqueta() { return clase == Clase.ETIQUETA; }
+
+    // true si es la instrucción op
+    public boolean es(OpMIPS op) {
+        return this.op == op;
+    }
+
+    // Sustituye la instrucción conservando el comentario
+    void reemplazar(OpMIPS op, Operando... operandos) {
+        this.op = op;
+        this.operandos = operandos;
+    }
+
+    void setOperando(int i, Operando valor) {
+        operandos[i] = valor;
+    }
+
+    // Etiqueta a la que puede saltar, o null
+    public String destinoSalto() {
+        return clase == Clase.INSTRUCCION && op.esSalto() ? operandos[operandos.length - 1].getNombre() : null;
+    }
+
+    public boolean continua() {
+        return clase != Clase.INSTRUCCION || op.continua();
+    }
+
+    private int escritos() {
+        return clase == Clase.INSTRUCCION ? op.getEscritos() : 0;
+    }
+
+    public boolean lee(Operando registro) {
+        for (int i = escritos(); i < operandos.length; i++) {
+            if (operandos[i].usaRegistro(registro)) return true;
+        }
+        return false;
+    }
+
+    public boolean escribe(Operando registro) {
+        for (int i = 0; i < escritos(); i++) {
+            if (operandos[i] == registro) return true;
+        }
+        return false;
+    }
+
+    // Temporales que lee la instrucción, como máscara
+    public int temporalesLeidos() {
+        int mascara = 0;
+        for (int i = escritos(); i < operandos.length; i++) {
+            mascara |= operandos[i].bitTemporal();
+        }
+        return mascara;
+    }
+
+    // Temporales que escribe; la función llamada por un jal puede pisarlos todos
+    public int temporalesEscritos() {
+        if (op == OpMIPS.JAL) return TODOS_LOS_TEMPORALES;
+        int mascara = 0;
+        for (int i = 0; i < escritos(); i++) {
+            mascara |= operandos[i].bitTemporal();
+        }
+        return mascara;
+    }
+
+    // Cambia por nuevo cada lectura de registro (también como base de una dirección)
+    void reemplazarLecturas(Operando registro, Operando nuevo) {
+        for (int i = escritos(); i < operandos.length; i++) {
+            operandos[i] = operandos[i].cambiarRegistro(registro, nuevo);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        EscritorMIPS.formatear(this, sb);
+        return sb.toString();
+    }
+}
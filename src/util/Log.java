@@ -0,0 +1,75 @@
+package util;
+
+import java.util.function.Supplier;
+
+/**
+ * Mensajes de consola del compilador organizados por niveles.
+ * - PRODUCCION: no escribe nada en consola (los errores siguen quedando
+ *   en ErrorHandler y en el reporte de errores).
+ * - NORMAL: banners de fase, errores y resúmenes.
+ * - DETALLE: además vuelca tokens, árbol, tablas y cada paso de la
+ *   generación de código (comportamiento pensado para uso docente).
+ * Los mensajes que se arman concatenando (por token, por nodo...) se pasan
+ * como Supplier, así en PRODUCCION y NORMAL no se construyen.
+ */
+public final class Log {
+    public enum Nivel { PRODUCCION, NORMAL, DETALLE }
+
+    private static final String SEPARADOR = "═══════════════════════════════════════════════════════════";
+
+    // Nivel global; se fija una vez al iniciar desde la línea de comandos
+    private static volatile Nivel nivel = Nivel.DETALLE;
+
+    private Log() {}
+
+    public static Nivel getNivel() { return nivel; }
+    public static void setNivel(Nivel n) { nivel = n; }
+
+    /**
+     * Convierte el texto de --log=... en un nivel; devuelve null si no es válido.
+     */
+    public static Nivel parsear(String texto) {
+        for (Nivel n : Nivel.values()) {
+            if (n.name().equalsIgnoreCase(texto)) return n;
+        }
+        return null;
+    }
+
+    // true si se muestran fases, errores y resúmenes
+    public static boolean esNormal() {
+        return nivel != Nivel.PRODUCCION;
+    }
+
+    // true si se muestran los volcados detallados
+    public static boolean esDetalle() {
+        return nivel == Nivel.DETALLE;
+    }
+
+    // Mensaje de avance (nivel NORMAL o superior)
+    public static void info(String mensaje) {
+        if (esNormal()) System.out.println(mensaje);
+    }
+
+    // Mensaje detallado (solo nivel DETALLE)
+    public static void detalle(String mensaje) {
+        if (esDetalle()) System.out.println(mensaje);
+    }
+
+    // Mensaje detallado que solo se construye si el nivel es DETALLE
+    public static void detalle(Supplier<String> mensaje) {
+        if (esDetalle()) System.out.println(mensaje.get());
+    }
+
+    // Error o advertencia por System.err (nivel NORMAL o superior)
+    public static void error(String mensaje) {
+        if (esNormal()) System.err.println(mensaje);
+    }
+
+    // Banner de inicio de una fase (nivel NORMAL o superior)
+    public static void fase(String titulo) {
+        if (!esNormal()) return;
+        System.out.println("\n" + SEPARADOR);
+        System.out.println(titulo);
+        System.out.println(SEPARADOR + "\n");
+    }
+}
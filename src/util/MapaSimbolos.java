@@ -0,0 +1,115 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa id de identificador -> Token de un alcance.
+ * Direccionamiento abierto con sondeo lineal sobre claves int (sin boxing
+ * ni hash de Strings) y recorrido en orden de inserción, que es el orden
+ * en que se muestran los símbolos en los reportes.
+ */
+public class MapaSimbolos {
+    private static final int CAPACIDAD_INICIAL = 16;    // Potencia de 2
+
+    private int[] ranuras;           // posición + 1 en los arreglos de orden (0 = vacía)
+    private int[] ids;               // ids en orden de inserción (-1 si se eliminó)
+    private Token[] tokens;          // tokens en orden de inserción (null si se eliminó)
+    private int usados;              // posiciones usadas en ids/tokens (incluye eliminadas)
+    private int tamano;              // cantidad de símbolos presentes
+
+    public MapaSimbolos() {
+        this.ranuras = new int[CAPACIDAD_INICIAL];
+        this.ids = new int[CAPACIDAD_INICIAL];
+        this.tokens = new Token[CAPACIDAD_INICIAL];
+        this.usados = 0;
+        this.tamano = 0;
+    }
+
+    /**
+     * Asocia el token al id; si el id ya estaba, reemplaza el token
+     * conservando su posición.
+     */
+    public void poner(int id, Token token) {
+        int r = buscarRanura(id);
+        if (ranuras[r] != 0) {
+            tokens[ranuras[r] - 1] = token;
+            return;
+        }
+        if (usados == ids.length) {
+            ids = Arrays.copyOf(ids, usados * 2);
+            tokens = Arrays.copyOf(tokens, usados * 2);
+        }
+        ids[usados] = id;
+        tokens[usados] = token;
+        ranuras[r] = usados + 1;
+        usados++;
+        tamano++;
+        // Mantener la ocupación por debajo de 3/4 (las posiciones eliminadas
+        // siguen ocupando ranura hasta el siguiente rehash)
+        if (usados * 4 > ranuras.length * 3) {
+            rehash();
+        }
+    }
+
+    // Token asociado al id, o null
+    public Token obtener(int id) {
+        int p = ranuras[buscarRanura(id)] - 1;
+        return p >= 0 ? tokens[p] : null;
+    }
+
+    public boolean contiene(int id) {
+        return ranuras[buscarRanura(id)] != 0;
+    }
+
+    public void eliminar(int id) {
+        int p = ranuras[buscarRanura(id)] - 1;
+        if (p < 0) return;
+        // La ranura queda apuntando a una posición que ya no coincide con
+        // ningún id, así que el sondeo sigue pasando por ella
+        ids[p] = -1;
+        tokens[p] = null;
+        tamano--;
+    }
+
+    public int tamano() { return tamano; }
+    public boolean estaVacio() { return tamano == 0; }
+
+    // Recorrido en orden de inserción: posiciones 0..usados()-1, saltando
+    // las eliminadas (idEn(i) == -1)
+    public int usados() { return usados; }
+    public int idEn(int posicion) { return ids[posicion]; }
+    public Token tokenEn(int posicion) { return tokens[posicion]; }
+
+    // Ranura que contiene el id o la ranura vacía donde debería ir
+    private int buscarRanura(int id) {
+        int mascara = ranuras.length - 1;
+        for (int r = TablaIdentificadores.mezclar(id * 0x9E3779B9) & mascara; ; r = (r + 1) & mascara) {
+            int p = ranuras[r] - 1;
+            if (p < 0 || ids[p] == id) return r;
+        }
+    }
+
+    // Compacta las posiciones eliminadas y reconstruye las ranuras
+    private void rehash() {
+        int destino = 0;
+        for (int p = 0; p < usados; p++) {
+            if (ids[p] >= 0) {
+                ids[destino] = ids[p];
+                tokens[destino] = tokens[p];
+                destino++;
+            }
+        }
+        Arrays.fill(tokens, destino, usados, null);
+        usados = destino;
+
+        int capacidad = ranuras.length;
+        while (usados * 2 > capacidad) capacidad *= 2;
+        ranuras = new int[capacidad];
+        int mascara = capacidad - 1;
+        for (int p = 0; p < usados; p++) {
+            int r = TablaIdentificadores.mezclar(ids[p] * 0x9E3779B9) & mascara;
+            while (ranuras[r] != 0) r = (r + 1) & mascara;
+            ranuras[r] = p + 1;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package util;
+
+/**
+ * Instrucciones MIPS que emite CodeGenerator, con lo que necesitan saber
+ * de ellas la mirilla y el análisis de vida: cuántos de los primeros
+ * operandos escriben (el resto se leen) y cómo siguen el flujo.
+ */
+public enum OpMIPS {
+    // Aritméticas y lógicas: destino, fuentes
+    ADD("add", 1),
+    ADDI("addi", 1),
+    SUB("sub", 1),
+    AND("and", 1),
+    OR("or", 1),
+    XOR("xor", 1),
+    XORI("xori", 1),
+    SLT("slt", 1),
+    SLTI("slti", 1),
+    SLTU("sltu", 1),
+    SLTIU("sltiu", 1),
+    SLL("sll", 1),
+    SRL("srl", 1),
+    SRA("sra", 1),
+
+    // Movimientos y memoria
+    LI("li", 1),
+    LA("la", 1),
+    LW("lw", 1),
+    SW("sw", 0),
+    MOVE("move", 1),
+
+    // Multiplicación y división escriben HI/LO
+    MULT("mult", 0),
+    DIV("div", 0),
+    MFLO("mflo", 1),
+    MFHI("mfhi", 1),
+
+    // Saltos: el último operando es la etiqueta destino
+    BEQ("beq", 0),
+    BNE("bne", 0),
+    BLEZ("blez", 0),
+    J("j", 0),
+    JAL("jal", 0),
+    JR("jr", 0),
+    SYSCALL("syscall", 0);
+
+    private final String mnemonico;
+    private final int escritos;
+
+    OpMIPS(String mnemonico, int escritos) {
+        this.mnemonico = mnemonico;
+        this.escritos = escritos;
+    }
+
+    public String getMnemonico() { return mnemonico; }
+
+    // Cuántos de los primeros operandos escribe la instrucción
+    public int getEscritos() { return escritos; }
+
+    // true si puede saltar a la etiqueta de su último operando (jal no: vuelve)
+    public boolean esSalto() {
+        return this == BEQ || this == BNE || this == BLEZ || this == J;
+    }
+
+    // false si después de la instrucción nunca se ejecuta la siguiente
+    public boolean continua() {
+        return this != J && this != JR;
+    }
+}
@@ -0,0 +1,125 @@
+package util;
+
+/**
+ * Operando de una InstruccionMIPS: un registro, un inmediato, una
+ * dirección desplazamiento(base) o una etiqueta (destino de salto o
+ * variable global de .data). Es inmutable; los registros se comparten.
+ */
+public final class Operando {
+
+    public enum Tipo { REGISTRO, INMEDIATO, MEMORIA, ETIQUETA }
+
+    private static final Operando[] TEMPORALES = new Operando[10];
+    private static final Operando[] GUARDADOS = new Operando[8];
+    static {
+        for (int n = 0; n < TEMPORALES.length; n++) TEMPORALES[n] = new Operando(Tipo.REGISTRO, "$t" + n, 0, null);
+        for (int n = 0; n < GUARDADOS.length; n++) GUARDADOS[n] = new Operando(Tipo.REGISTRO, "$s" + n, 0, null);
+    }
+
+    public static final Operando ZERO = new Operando(Tipo.REGISTRO, "$zero", 0, null);
+    public static final Operando V0 = new Operando(Tipo.REGISTRO, "$v0", 0, null);
+    public static final Operando A0 = new Operando(Tipo.REGISTRO, "$a0", 0, null);
+    public static final Operando SP = new Operando(Tipo.REGISTRO, "$sp", 0, null);
+    public static final Operando FP = new Operando(Tipo.REGISTRO, "$fp", 0, null);
+    public static final Operando RA = new Operando(Tipo.REGISTRO, "$ra", 0, null);
+
+    private final Tipo tipo;
+    private final String nombre;    // registro, etiqueta o texto del inmediato (null si es un int)
+    private final int valor;        // inmediato o desplazamiento
+    private final Operando base;    // registro base de MEMORIA
+    private final int temporal;     // n del $tN que nombra (también como base), o -1
+
+    private Operando(Tipo tipo, String nombre, int valor, Operando base) {
+        this.tipo = tipo;
+        this.nombre = nombre;
+        this.valor = valor;
+        this.base = base;
+        Operando registro = tipo == Tipo.MEMORIA ? base : this;
+        this.temporal = (tipo == Tipo.REGISTRO || tipo == Tipo.MEMORIA) && registro.nombre.startsWith("$t")
+                ? registro.nombre.charAt(2) - '0' : -1;
+    }
+
+    public static Operando t(int n) { return TEMPORALES[n]; }
+    public static Operando s(int n) { return GUARDADOS[n]; }
+
+    public static Operando inmediato(int valor) {
+        return new Operando(Tipo.INMEDIATO, null, valor, null);
+    }
+
+    // Entero escrito tal cual (fuera de 32 bits, lo resuelve el ensamblador)
+    public static Operando literal(String texto) {
+        return new Operando(Tipo.INMEDIATO, texto, 0, null);
+    }
+
+    public static Operando memoria(int desplazamiento, Operando base) {
+        return new Operando(Tipo.MEMORIA, null, desplazamiento, base);
+    }
+
+    public static Operando etiqueta(String nombre) {
+        return new Operando(Tipo.ETIQUETA, nombre, 0, null);
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public String getNombre() { return nombre; }
+
+    // true si es el inmediato 0
+    public boolean esCero() {
+        return tipo == Tipo.INMEDIATO && nombre == null && valor == 0;
+    }
+
+    public boolean esTemporal() {
+        return tipo == Tipo.REGISTRO && temporal >= 0;
+    }
+
+    // Bit del $t que nombra (registro o base) en las máscaras de vida, o 0
+    public int bitTemporal() {
+        return temporal >= 0 ? 1 << temporal : 0;
+    }
+
+    // true si nombra el registro r, directamente o como base de la dirección
+    public boolean usaRegistro(Operando r) {
+        return tipo == Tipo.MEMORIA ? base == r : this == r;
+    }
+
+    // El mismo operando con el registro r cambiado por nuevo
+    public Operando cambiarRegistro(Operando r, Operando nuevo) {
+        if (this == r) return nuevo;
+        if (tipo == Tipo.MEMORIA && base == r) return memoria(valor, nuevo);
+        return this;
+    }
+
+    public void escribir(StringBuilder sb) {
+        switch (tipo) {
+            case INMEDIATO:
+                if (nombre != null) sb.append(nombre); else sb.append(valor);
+                break;
+            case MEMORIA:
+                sb.append(valor).append('(').append(base.nombre).append(')');
+                break;
+            default:
+                sb.append(nombre);
+                break;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Operando)) return false;
+        Operando otro = (Operando) o;
+        return tipo == otro.tipo && valor == otro.valor && base == otro.base
+                && (nombre == null ? otro.nombre == null : nombre.equals(otro.nombre));
+    }
+
+    @Override
+    public int hashCode() {
+        return (tipo.ordinal() * 31 + valor) * 31 + (nombre != null ? nombre.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        escribir(sb);
+        return sb.toString();
+    }
+}
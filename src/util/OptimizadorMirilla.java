@@ -0,0 +1,221 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optimización de mirilla sobre el código MIPS ya generado: recorre la
+ * lista de instrucciones mirando pares consecutivos (los comentarios no
+ * cuentan) o instrucciones sueltas y aplica las reglas del catálogo hasta que ninguna cambia nada.
+ *
+ * Las reglas que eliminan un registro $t solo se aplican si ese registro
+ * está muerto después del par; la vida de los $t se calcula sobre toda la
+ * lista siguiendo los saltos a etiquetas (un jal los pisa todos y un jr
+ * no deja ninguno vivo). Al final de la lista no queda ninguno vivo:
+ * CodeGenerator la corta entre unidades, donde ya terminaron las
+ * expresiones.
+ */
+public final class OptimizadorMirilla {
+
+    /**
+     * Catálogo de reglas, en el orden en que se prueban en cada posición.
+     */
+    public enum Regla {
+        COPIA_DE_UN_USO("move $tA, r + uso de $tA -> uso de r"),
+        CERO_COMO_ZERO("li $tA, 0 + uso de $tA -> uso de $zero"),
+        RESULTADO_DIRECTO("op $tA, ... + move r, $tA -> op r, ..."),
+        CARGA_TRAS_GUARDADO("sw r, m + lw $tA, m -> sw r, m + move $tA, r"),
+        SALTO_AL_SIGUIENTE("j L seguido de L: -> nada"),
+        ESCRITURA_MUERTA("op $tA, ... con $tA muerto después -> nada");
+
+        private final String descripcion;
+
+        Regla(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() { return descripcion; }
+    }
+
+    private static final int MAX_PASADAS = 10;
+
+    private final int[] aciertos = new int[Regla.values().length];
+    private List<InstruccionMIPS> codigo;
+    private boolean[] eliminada;
+    private int[] vivosDespues;                 // $t vivos después de cada línea (máscara)
+
+    /**
+     * Devuelve el código optimizado; los contadores de aciertos se acumulan
+     * entre llamadas.
+     */
+    public List<InstruccionMIPS> optimizar(List<InstruccionMIPS> entrada) {
+        codigo = entrada;
+        for (int pasada = 0; pasada < MAX_PASADAS; pasada++) {
+            eliminada = new boolean[codigo.size()];
+            vivosDespues = calcularVivos();
+            boolean cambio = false;
+            for (int i = 0; i < codigo.size(); i++) {
+                if (eliminada[i] || !codigo.get(i).esInstruccion()) continue;
+                int j = siguiente(i);
+                for (Regla regla : Regla.values()) {
+                    if (aplicar(regla, i, j)) {
+                        aciertos[regla.ordinal()]++;
+                        cambio = true;
+                        // La vida de los $t del par quedó vieja: se revisa en la próxima pasada
+                        // (ESCRITURA_MUERTA solo quita la primera, el par siguiente sigue valiendo)
+                        if (j > i && regla != Regla.ESCRITURA_MUERTA) i = j;
+                        break;
+                    }
+                }
+            }
+            List<InstruccionMIPS> compactado = new ArrayList<>(codigo.size());
+            for (int i = 0; i < codigo.size(); i++) {
+                if (!eliminada[i]) compactado.add(codigo.get(i));
+            }
+            codigo = compactado;
+            if (!cambio) break;
+        }
+        List<InstruccionMIPS> resultado = codigo;
+        codigo = null;
+        eliminada = null;
+        vivosDespues = null;
+        return resultado;
+    }
+
+    public int getAciertos(Regla regla) {
+        return aciertos[regla.ordinal()];
+    }
+
+    public int getTotalAciertos() {
+        int total = 0;
+        for (int a : aciertos) total += a;
+        return total;
+    }
+
+    // Una línea por regla con su contador
+    public String resumen() {
+        StringBuilder sb = new StringBuilder();
+        for (Regla regla : Regla.values()) {
+            sb.append(String.format("    %-20s %5d   %s%n", regla.name(), getAciertos(regla), regla.getDescripcion()));
+        }
+        return sb.toString();
+    }
+
+    // Índice de la siguiente línea que no es comentario ni vacía, o -1
+    private int siguiente(int i) {
+        for (int k = i + 1; k < codigo.size(); k++) {
+            if (eliminada[k]) continue;
+            InstruccionMIPS.Clase clase = codigo.get(k).getClase();
+            if (clase != InstruccionMIPS.Clase.COMENTARIO && clase != InstruccionMIPS.Clase.VACIA) return k;
+        }
+        return -1;
+    }
+
+    private boolean aplicar(Regla regla, int i, int j) {
+        InstruccionMIPS a = codigo.get(i);
+        InstruccionMIPS b = j >= 0 && codigo.get(j).esInstruccion() ? codigo.get(j) : null;
+        switch (regla) {
+            case COPIA_DE_UN_USO:
+                if (b != null && a.es(OpMIPS.MOVE) && a.getOperando(0).esTemporal()
+                        && unicoUso(a.getOperando(0), b, j)) {
+                    b.reemplazarLecturas(a.getOperando(0), a.getOperando(1));
+                    eliminada[i] = true;
+                    return true;
+                }
+                return false;
+            case CERO_COMO_ZERO:
+                if (b != null && a.es(OpMIPS.LI) && a.getOperando(0).esTemporal()
+                        && a.getOperando(1).esCero() && unicoUso(a.getOperando(0), b, j)) {
+                    b.reemplazarLecturas(a.getOperando(0), Operando.ZERO);
+                    eliminada[i] = true;
+                    return true;
+                }
+                return false;
+            case RESULTADO_DIRECTO:
+                if (b != null && b.es(OpMIPS.MOVE) && a.getOp().getEscritos() == 1
+                        && b.getOperando(1).esTemporal() && a.getOperando(0) == b.getOperando(1)
+                        && (vivosDespues[j] & b.getOperando(1).bitTemporal()) == 0) {
+                    a.setOperando(0, b.getOperando(0));
+                    eliminada[j] = true;
+                    return true;
+                }
+                return false;
+            case CARGA_TRAS_GUARDADO:
+                if (b != null && a.es(OpMIPS.SW) && b.es(OpMIPS.LW)
+                        && a.getOperando(1).equals(b.getOperando(1))) {
+                    if (a.getOperando(0) == b.getOperando(0)) {
+                        eliminada[j] = true;
+                    } else {
+                        b.reemplazar(OpMIPS.MOVE, b.getOperando(0), a.getOperando(0));
+                    }
+                    return true;
+                }
+                return false;
+            case SALTO_AL_SIGUIENTE:
+                if (a.es(OpMIPS.J)) {
+                    String destino = a.destinoSalto();
+                    for (int k = j; k >= 0 && codigo.get(k).esEtiqueta(); k = siguiente(k)) {
+                        if (destino.equals(codigo.get(k).getTexto())) {
+                            eliminada[i] = true;
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            case ESCRITURA_MUERTA:
+                // Solo instrucciones cuyo único efecto es escribir un $t: jal y
+                // syscall no escriben operandos y nunca se tocan
+                if (a.getOp().getEscritos() == 1 && a.getOperando(0).esTemporal()
+                        && (vivosDespues[i] & a.getOperando(0).bitTemporal()) == 0) {
+                    eliminada[i] = true;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    // La instrucción b (en j) lee el registro y después ya no se usa
+    private boolean unicoUso(Operando registro, InstruccionMIPS b, int j) {
+        return b.lee(registro)
+                && (b.escribe(registro) || (vivosDespues[j] & registro.bitTemporal()) == 0);
+    }
+
+    /**
+     * Análisis de vida hacia atrás de los $t0-$t9, iterado hasta el punto
+     * fijo por los ciclos. Un salto a una etiqueta que no está en el código
+     * se trata como si todos siguieran vivos.
+     */
+    private int[] calcularVivos() {
+        int n = codigo.size();
+        Map<String, Integer> etiquetas = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (codigo.get(i).esEtiqueta()) etiquetas.put(codigo.get(i).getTexto(), i);
+        }
+        int[] antes = new int[n + 1];
+        int[] despues = new int[n];
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            for (int i = n - 1; i >= 0; i--) {
+                InstruccionMIPS ins = codigo.get(i);
+                int salida = ins.continua() ? antes[i + 1] : 0;
+                String destino = ins.destinoSalto();
+                if (destino != null) {
+                    Integer k = etiquetas.get(destino);
+                    salida |= k != null ? antes[k] : InstruccionMIPS.TODOS_LOS_TEMPORALES;
+                }
+                int entrada = (salida & ~ins.temporalesEscritos()) | ins.temporalesLeidos();
+                if (salida != despues[i] || entrada != antes[i]) {
+                    despues[i] = salida;
+                    antes[i] = entrada;
+                    cambio = true;
+                }
+            }
+        }
+        return despues;
+    }
+}
@@ -0,0 +1,270 @@
+package util;
+
+import arbolSintactico.RecorridoArbol;
+import arbolSintactico.TipoNodo;
+import arbolSintactico.VisitanteArbol;
+import arbolSintactico.arbol;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Análisis semántico posterior al parseo, en un único recorrido del árbol.
+ * Es el único que valida el programa (declaraciones, usos, asignaciones y
+ * operandos); las acciones de parser.cup solo construyen el árbol.
+ * Cada nodo de expresión queda anotado con su tipo (setTipoDato) y cada uso
+ * de variable o función con el nodo que la declara (setDeclaracion); el
+ * generador de código lee esas anotaciones en lugar de volver a buscar.
+ *
+ * Cada FUNCION, MAIN y BLOQUE abre un alcance en la tabla de símbolos y
+ * cada declaración agrega su Token al alcance actual; un uso se resuelve
+ * con buscarEnAlcance desde el alcance donde aparece, así que las locales
+ * de un bloque dejan de ser visibles al cerrarlo.
+ *
+ * Una función es visible desde el final de su declaración, así que solo
+ * puede llamar a las declaradas antes que ella.
+ *
+ * Los tipos se calculan al salir de cada nodo a partir de los tipos ya
+ * anotados en sus hijos, así que cada subexpresión se tipa y reporta sus
+ * errores una sola vez. Las reglas están en AnalizadorSemantico.
+ */
+public class PasadaSemantica implements VisitanteArbol {
+    private final SymbolTable tablaSimbolos;
+    private final Map<Token, arbol> declaraciones = new IdentityHashMap<>();  // Token -> nodo que lo declara
+    private final Map<String, arbol> funciones = new HashMap<>();
+    private int alcance = SymbolTable.ALCANCE_GLOBAL;               // Alcance desde el que se resuelven los usos
+
+    public PasadaSemantica(SymbolTable tablaSimbolos) {
+        this.tablaSimbolos = tablaSimbolos;
+    }
+
+    /**
+     * Analiza y anota el árbol completo.
+     */
+    public static void analizar(arbol ast, SymbolTable tablaSimbolos) {
+        tablaSimbolos.entrarAlcance(SymbolTable.ALCANCE_GLOBAL);
+        RecorridoArbol.recorrer(ast, new PasadaSemantica(tablaSimbolos));
+    }
+
+    @Override
+    public boolean entrar(arbol nodo, int profundidad) {
+        switch (nodo.tipoNodo) {
+            case FUNCION:
+            case MAIN:
+                abrirAlcance(nodo.valor, "FUNCION");
+                break;
+            case BLOQUE:
+                abrirAlcance("BLOQUE", "LOCAL");
+                break;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    @Override
+    public void salir(arbol nodo, int profundidad) {
+        switch (nodo.tipoNodo) {
+            case LITERAL_INT:
+            case LITERAL_FLOAT:
+            case LITERAL_BOOL:
+            case LITERAL_CHAR:
+            case LITERAL_STRING:
+                nodo.setTipoDato(AnalizadorSemantico.tipoLiteral(nodo.tipoNodo));
+                break;
+            case FUNCION:
+                cerrarAlcance();
+                if (funciones.containsKey(nodo.valor)) {
+                    error(nodo, "Función ya declarada: " + nodo.valor);
+                } else {
+                    funciones.put(nodo.valor, nodo);
+                }
+                break;
+            case MAIN:
+            case BLOQUE:
+                cerrarAlcance();
+                break;
+            case PARAM:
+                nodo.setTipoDato(tipoDeclarado(nodo));
+                declarar(nodo);
+                break;
+            case DECL_GLOBAL:
+            case DECL_LOCAL:
+                salirDeclaracion(nodo);
+                break;
+            case IDENT:
+                anotarUso(nodo, false);
+                break;
+            case ARRAY_ACCESS:
+                anotarUso(nodo, true);
+                validarIndice(nodo, 0);
+                validarIndice(nodo, 1);
+                break;
+            case ASIGNACION:
+                anotarUso(nodo, false);
+                AnalizadorSemantico.validarAsignacion(nodo.getTipoDato(), tipoHijo(nodo, 0));
+                break;
+            case ASIGNACION_ARRAY:
+                // Hijo 0: el ARRAY_ACCESS, ya tipado con el tipo del elemento
+                nodo.setTipoDato(tipoHijo(nodo, 0));
+                AnalizadorSemantico.validarAsignacion(tipoHijo(nodo, 0), tipoHijo(nodo, 1));
+                break;
+            case LLAMADA: {
+                arbol funcion = funciones.get(nodo.valor);
+                if (funcion != null) {
+                    nodo.setDeclaracion(funcion);
+                    nodo.setTipoDato(tipoDeclarado(funcion));
+                } else {
+                    error(nodo, "Función no declarada: " + nodo.valor);
+                    nodo.setTipoDato("unknown");
+                }
+                break;
+            }
+            case OPERACION: {
+                String tipoIzq = tipoHijo(nodo, 0);
+                String tipoDer = nodo.hijos.size() >= 2 ? tipoHijo(nodo, 1) : null;
+                // Las unarias no se validan
+                if (tipoDer != null) {
+                    AnalizadorSemantico.validarCompatibilidadTipos(tipoIzq, tipoDer, nodo.operador);
+                }
+                nodo.setTipoDato(AnalizadorSemantico.tipoOperacion(nodo.operador, tipoIzq, tipoDer));
+                break;
+            }
+            case ELEMENTOS:
+            case FILA:
+            case FILAS:
+                // Tipo del primer elemento
+                nodo.setTipoDato(tipoHijo(nodo, 0));
+                break;
+            case ARRAY_INIT:
+                nodo.setTipoDato(tipoHijo(nodo, 0) + "[]");
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Alcance nuevo dentro del actual (función o bloque)
+    private void abrirAlcance(String nombre, String tipo) {
+        alcance = tablaSimbolos.crearAlcance(nombre, tipo);
+    }
+
+    // Vuelve al alcance que contiene al actual
+    private void cerrarAlcance() {
+        tablaSimbolos.salirAlcance();
+        alcance = tablaSimbolos.obtenerAlcanceActualId();
+    }
+
+    // Agrega la declaración al alcance actual (tipo e inicialización del Token)
+    // y lleva lo mismo al Token que el lexer registró en GLOBAL, que es el
+    // que muestran los reportes
+    private void declarar(arbol nodo) {
+        arbol previa = resolver(nodo.valor);
+        if (previa != null && alcance == SymbolTable.ALCANCE_GLOBAL) {
+            error(nodo, "Variable global ya declarada: " + nodo.valor);
+            return;
+        }
+        // Una local no puede ocultar a otra de la misma función: el generador
+        // de código ubica las locales por nombre
+        if (previa != null && previa.tipoNodo != TipoNodo.DECL_GLOBAL) {
+            error(nodo, "Variable local ya declarada: " + nodo.valor);
+            return;
+        }
+        Token registrado = tablaSimbolos.buscarEnAlcance(SymbolTable.ALCANCE_GLOBAL, nodo.valor);
+        Token token = tokenDeclarado(nodo, registrado);
+        // Una local no pisa el tipo de una global del mismo nombre
+        Token reporte = registrado != null && !declaraciones.containsKey(registrado) ? registrado : null;
+        if (nodo.hijos.size() > 0 && nodo.hijos.get(0).tipoNodo == TipoNodo.TIPO) {
+            token.setTipoVariable(nodo.hijos.get(0).valor);
+            token.setEsArreglo(nodo.getTipoDato().endsWith("[]"));
+            if (reporte != null) reporte.setTipoVariable(nodo.hijos.get(0).valor);
+            Log.detalle(() -> "  [SEMÁNTICA] Declaración: " + nodo.valor + " : " + nodo.hijos.get(0).valor + " (" + token.getAlcance() + ")");
+        }
+        if (nodo.hijos.size() > 1 || nodo.tipoNodo == TipoNodo.PARAM) {
+            token.setInicializado(true);
+            if (reporte != null) reporte.setInicializado(true);
+            Log.detalle(() -> "  [SEMÁNTICA] Inicialización: " + nodo.valor);
+        }
+        declaraciones.put(token, nodo);
+    }
+
+    // Token de la declaración en el alcance actual; las globales reutilizan
+    // el que el lexer registró en GLOBAL y las demás toman de él la posición
+    // (los nodos DECL_LOCAL y PARAM no la traen)
+    private Token tokenDeclarado(arbol nodo, Token registrado) {
+        if (alcance == SymbolTable.ALCANCE_GLOBAL && registrado != null) {
+            return registrado;
+        }
+        Token token = registrado != null
+                ? new Token("IDENT", nodo.valor, registrado.getLinea(), registrado.getColumna())
+                : new Token("IDENT", nodo.valor, nodo.linea, nodo.columna);
+        tablaSimbolos.agregar(nodo.valor, token);
+        return token;
+    }
+
+    // Declaración visible desde el alcance actual, o null
+    private arbol resolver(String nombre) {
+        Token token = tablaSimbolos.buscarEnAlcance(alcance, nombre);
+        return token != null ? declaraciones.get(token) : null;
+    }
+
+    // La inicialización ya está tipada: validar y hacer visible la variable
+    private void salirDeclaracion(arbol nodo) {
+        String tipoDecl = tipoDeclarado(nodo);
+        nodo.setTipoDato(tipoDecl);
+        if (nodo.hijos.size() > 1) {
+            AnalizadorSemantico.validarAsignacion(tipoDecl, tipoHijo(nodo, 1));
+        }
+        declarar(nodo);
+    }
+
+    // IDENT, ARRAY_ACCESS o ASIGNACION: enlazar con su declaración
+    private void anotarUso(arbol nodo, boolean elemento) {
+        arbol declaracion = resolver(nodo.valor);
+        if (declaracion == null) {
+            error(nodo, "Variable no declarada: " + nodo.valor);
+            nodo.setTipoDato("unknown");
+            return;
+        }
+        if (declaracion.tipoNodo == TipoNodo.PARAM) {
+            // El generador de código todavía no pasa argumentos a las funciones
+            error(nodo, "Uso de parámetro no soportado: " + nodo.valor);
+        }
+        nodo.setDeclaracion(declaracion);
+        String tipo = declaracion.getTipoDato();
+        nodo.setTipoDato(elemento ? tipo.replace("[]", "") : tipo);
+    }
+
+    // Los índices de A[i][j] deben ser enteros
+    private static void validarIndice(arbol acceso, int i) {
+        String tipo = tipoHijo(acceso, i);
+        if (!tipo.equals("unknown") && !tipo.equals("int")) {
+            error(acceso, "Índice de arreglo debe ser entero, se recibió " + tipo);
+        }
+    }
+
+    // Error semántico con la posición del nodo cuando el parser la conoce
+    private static void error(arbol nodo, String mensaje) {
+        if (nodo.linea > 0) {
+            ErrorHandler.agregarErrorSemantico(mensaje, nodo.linea, nodo.columna);
+        } else {
+            ErrorHandler.agregarErrorSemantico(mensaje);
+        }
+    }
+
+    // Tipo de una declaración: su TIPO, como arreglo si se inicializa con ¡...!
+    private static String tipoDeclarado(arbol nodo) {
+        if (nodo.hijos.isEmpty() || nodo.hijos.get(0).tipoNodo != TipoNodo.TIPO) return "unknown";
+        String tipo = nodo.hijos.get(0).valor;
+        if (nodo.hijos.size() > 1 && nodo.hijos.get(1).tipoNodo == TipoNodo.ARRAY_INIT) {
+            return tipo + "[]";
+        }
+        return tipo;
+    }
+
+    private static String tipoHijo(arbol nodo, int i) {
+        if (i >= nodo.hijos.size()) return "unknown";
+        String tipo = nodo.hijos.get(i).getTipoDato();
+        return tipo != null ? tipo : "unknown";
+    }
+}
@@ -0,0 +1,93 @@
+package util;
+
+import arbolSintactico.Operador;
+
+/**
+ * Aritmética entera de 32 bits con la misma semántica que el código MIPS
+ * que emite CodeGenerator, para calcular en compilación las operaciones
+ * cuyos operandos ya se conocen:
+ * - la división y el módulo por cero dan 0 (el código generado lo comprueba)
+ * - la división trunca hacia cero y el módulo toma el signo del dividendo
+ * - x ^ n con n <= 0 da 1
+ * - relacionales y lógicos dan 0 o 1
+ */
+public final class PlegadoConstantes {
+
+    private PlegadoConstantes() {}
+
+    /**
+     * Resultado de a op b; para operadores sin traducción a MIPS devuelve a,
+     * igual que el generador.
+     */
+    public static int operar(Operador op, int a, int b) {
+        switch (op) {
+            case SUMA:
+            case INCREMENTO:
+                return a + b;
+            case RESTA:
+            case DECREMENTO:
+                return a - b;
+            case MULTIPLICACION:
+                return a * b;
+            case DIVISION:
+            case DIVISION_ENTERA:
+                return b == 0 ? 0 : a / b;
+            case MODULO:
+                return b == 0 ? 0 : a % b;
+            case POTENCIA:
+                return potencia(a, b);
+            case IGUAL:
+                return a == b ? 1 : 0;
+            case DISTINTO:
+                return a != b ? 1 : 0;
+            case MENOR:
+                return a < b ? 1 : 0;
+            case MAYOR:
+                return a > b ? 1 : 0;
+            case MENOR_IGUAL:
+                return a <= b ? 1 : 0;
+            case MAYOR_IGUAL:
+                return a >= b ? 1 : 0;
+            case AND:
+                return (a != 0 && b != 0) ? 1 : 0;
+            case OR:
+                return (a != 0 || b != 0) ? 1 : 0;
+            default:
+                return a;
+        }
+    }
+
+    /**
+     * Resultado de una operación unaria (-a, Σa).
+     */
+    public static int operar(Operador op, int a) {
+        switch (op) {
+            case RESTA:
+                return -a;
+            case NOT:
+                return a == 0 ? 1 : 0;
+            default:
+                return a;
+        }
+    }
+
+    // base ^ exponente módulo 2^32 (el ciclo MIPS multiplica 'exponente' veces)
+    private static int potencia(int base, int exponente) {
+        int resultado = 1;
+        while (exponente > 0) {
+            if ((exponente & 1) != 0) resultado *= base;
+            base *= base;
+            exponente >>= 1;
+        }
+        return resultado;
+    }
+
+    public static boolean esPotenciaDeDos(int v) {
+        return v > 0 && (v & (v - 1)) == 0;
+    }
+
+    // Cabe en el inmediato con signo de 16 bits de addi/slti
+    public static boolean cabeEnInmediato(int v) {
+        return v >= -32768 && v <= 32767;
+    }
+}
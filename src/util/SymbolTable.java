@@ -6,61 +6,99 @@ import java.util.*;
  * Clase que gestiona las tablas de símbolos para el compilador.
  * Mantiene múltiples tablas de símbolos organizadas por alcance (GLOBAL, LOCAL, etc.)
  * Cada tabla asocia identificadores con tokens que contienen información detallada.
+ * Los identificadores se internan en una TablaIdentificadores y cada tabla
+ * guarda sus símbolos por id (MapaSimbolos); los métodos que reciben el
+ * nombre como String lo traducen a id con una sola búsqueda.
+ * Cada alcance recibe un id numérico (su posición en la lista de tablas)
+ * que crearAlcance devuelve; dos alcances con el mismo nombre son tablas
+ * distintas y se pueden volver a activar en O(1) con entrarAlcance.
  * @version 1.0
  * @author Duan Antonio Espinoza
  */
 public class SymbolTable {
-    private Map<String, Table> tablas;           // Tablas organizadas por alcance
+    public static final int ALCANCE_GLOBAL = 0;  // Id del alcance GLOBAL
+    
+    private List<Table> tablas;                  // Tablas por id de alcance (en orden de creación)
+    private Map<String, Integer> alcancesPorNombre;  // Último alcance creado con cada nombre
+    private final TablaIdentificadores identificadores;  // Nombre <-> id denso
     private String alcanceActual;                // Alcance actual
-    private Stack<String> pilaAlcances;          // Pila para manejar alcances anidados
+    private Table tablaActual;                   // Tabla del alcance actual (sus padres forman la cadena de alcances)
     private int contadorTokens;                  // Contador para IDs únicos de tokens
-    private List<String> historialOperaciones;   // Historial de operaciones
+    private HistorialTabla historial;            // Destino de los eventos (NINGUNO por defecto)
     
     /**
      * Clase interna que representa una tabla de símbolos para un alcance específico
      */
     public static class Table {
+        private int id;                          // Id del alcance dentro de su SymbolTable
         private String nombre;                   // Nombre del alcance (GLOBAL, LOCAL, etc.)
-        private Map<String, Token> simbolos;     // Mapa de identificador -> Token
+        private MapaSimbolos simbolos;           // Mapa de id de identificador -> Token
+        private TablaIdentificadores identificadores;  // Para traducir nombres e ids
         private int nivel;                       // Nivel de anidamiento
         private String tipoAlcance;              // GLOBAL, LOCAL, PARAMETRO, FUNCION
         private String observaciones;            // Información adicional
+        private Table padre;                     // Alcance que lo contiene (null en GLOBAL)
         
         public Table(String nombre, int nivel, String tipoAlcance) {
+            this(ALCANCE_GLOBAL, nombre, nivel, tipoAlcance, null, new TablaIdentificadores());
+        }
+        
+        public Table(int id, String nombre, int nivel, String tipoAlcance, Table padre,
+                     TablaIdentificadores identificadores) {
+            this.id = id;
             this.nombre = nombre;
             this.nivel = nivel;
             this.tipoAlcance = tipoAlcance;
-            this.simbolos = new LinkedHashMap<>();
+            this.padre = padre;
+            this.identificadores = identificadores;
+            this.simbolos = new MapaSimbolos();
             this.observaciones = "";
         }
         
         public void agregar(String id, Token token) {
-            simbolos.put(id, token);
+            simbolos.poner(identificadores.internar(id).getId(), token);
+        }
+        
+        public void agregar(int id, Token token) {
+            simbolos.poner(id, token);
         }
         
         public Token buscar(String id) {
-            return simbolos.get(id);
+            int n = identificadores.obtenerId(id);
+            return n >= 0 ? simbolos.obtener(n) : null;
+        }
+        
+        public Token buscar(int id) {
+            return simbolos.obtener(id);
         }
         
         public boolean existe(String id) {
-            return simbolos.containsKey(id);
+            return buscar(id) != null;
         }
         
         public void eliminar(String id) {
-            simbolos.remove(id);
+            int n = identificadores.obtenerId(id);
+            if (n >= 0) simbolos.eliminar(n);
         }
         
         public Collection<Token> obtenerTodos() {
-            return simbolos.values();
+            List<Token> todos = new ArrayList<>(simbolos.tamano());
+            for (int p = 0; p < simbolos.usados(); p++) {
+                if (simbolos.idEn(p) >= 0) todos.add(simbolos.tokenEn(p));
+            }
+            return todos;
         }
         
         public int obtenerSize() {
-            return simbolos.size();
+            return simbolos.tamano();
         }
         
+        public int getId() { return id; }
         public String getNombre() { return nombre; }
         public int getNivel() { return nivel; }
         public String getTipoAlcance() { return tipoAlcance; }
+        public Table getPadre() { return padre; }
+        public int getPadreId() { return padre != null ? padre.id : -1; }
         public String getObservaciones() { return observaciones; }
         public void setObservaciones(String obs) { this.observaciones = obs; }
         
@@ -70,13 +108,14 @@ public class SymbolTable {
             sb.append(String.format("║ TABLA: %s (Nivel %d - %s)\n", nombre, nivel, tipoAlcance));
             sb.append("╠════════════════════════════════════╣\n");
             
-            if (simbolos.isEmpty()) {
+            if (simbolos.estaVacio()) {
                 sb.append("║ (Tabla vacía)\n");
             } else {
-                for (Map.Entry<String, Token> entry : simbolos.entrySet()) {
-                    Token token = entry.getValue();
+                for (int p = 0; p < simbolos.usados(); p++) {
+                    if (simbolos.idEn(p) < 0) continue;
+                    Token token = simbolos.tokenEn(p);
                     String linea = String.format("║ %s : %s (línea %d)\n",
-                        entry.getKey(), token.getTipo(), token.getLinea());
+                        identificadores.nombre(simbolos.idEn(p)), token.getTipo(), token.getLinea());
                     sb.append(linea);
                 }
             }
@@ -87,38 +126,64 @@ public class SymbolTable {
     
     // Constructor
     public SymbolTable() {
-        this.tablas = new LinkedHashMap<>();
+        this(new TablaIdentificadores());
+    }
+    
+    // Constructor que comparte la tabla de identificadores del lexer
+    public SymbolTable(TablaIdentificadores identificadores) {
+        this.identificadores = identificadores;
+        this.tablas = new ArrayList<>();
+        this.alcancesPorNombre = new HashMap<>();
         this.alcanceActual = "GLOBAL";
-        this.pilaAlcances = new Stack<>();
         this.contadorTokens = 0;
-        this.historialOperaciones = new ArrayList<>();
+        this.historial = HistorialTabla.NINGUNO;
         
         // Crear tabla global
-        Table tablaGlobal = new Table("GLOBAL", 0, "GLOBAL");
-        tablas.put("GLOBAL", tablaGlobal);
-        pilaAlcances.push("GLOBAL");
+        crearTablaGlobal();
+    }
+    
+    private void crearTablaGlobal() {
+        Table tablaGlobal = new Table(ALCANCE_GLOBAL, "GLOBAL", 0, "GLOBAL", null, identificadores);
+        tablas.add(tablaGlobal);
+        alcancesPorNombre.put("GLOBAL", ALCANCE_GLOBAL);
+        tablaActual = tablaGlobal;
     }
     
     /**
-     * Crea un nuevo alcance (para funciones, bloques, etc.)
+     * Crea un nuevo alcance (para funciones, bloques, etc.) dentro del actual
+     * y lo activa.
+     * @return id del alcance creado, para volver a él con entrarAlcance
      */
-    public void crearAlcance(String nombre, String tipo) {
-        int nivel = pilaAlcances.size();
-        Table tabla = new Table(nombre, nivel, tipo);
-        tablas.put(nombre, tabla);
-        pilaAlcances.push(nombre);
+    public int crearAlcance(String nombre, String tipo) {
+        int nivel = tablaActual.nivel + 1;
+        int id = tablas.size();
+        Table tabla = new Table(id, nombre, nivel, tipo, tablaActual, identificadores);
+        tablas.add(tabla);
+        alcancesPorNombre.put(nombre, id);
+        tablaActual = tabla;
         alcanceActual = nombre;
-        historialOperaciones.add("CREAR ALCANCE: " + nombre + " (Nivel: " + nivel + ")");
+        if (historial.activo()) historial.registrar(EventoTabla.crearAlcance(nombre, nivel));
+        return id;
+    }
+    
+    /**
+     * Activa un alcance ya creado (por ejemplo, al generar código de una
+     * función cuyo alcance se creó en el análisis semántico).
+     */
+    public void entrarAlcance(int alcance) {
+        tablaActual = tablas.get(alcance);
+        alcanceActual = tablaActual.nombre;
     }
     
     /**
      * Sale del alcance actual
      */
     public void salirAlcance() {
-        if (pilaAlcances.size() > 1) {
-            String anterior = pilaAlcances.pop();
-            alcanceActual = pilaAlcances.peek();
-            historialOperaciones.add("SALIR ALCANCE: " + anterior + " -> " + alcanceActual);
+        if (tablaActual.padre != null) {
+            String anterior = tablaActual.nombre;
+            tablaActual = tablaActual.padre;
+            alcanceActual = tablaActual.nombre;
+            if (historial.activo()) historial.registrar(EventoTabla.salirAlcance(anterior, alcanceActual));
         }
     }
     
@@ -126,45 +191,69 @@ public class SymbolTable {
      * Agrega un token a la tabla actual
      */
     public void agregar(String id, Token token) {
-        Table tabla = tablas.get(alcanceActual);
-        if (tabla != null) {
-            token.setId(contadorTokens++);
-            token.setAlcance(alcanceActual);
-            tabla.agregar(id, token);
-            historialOperaciones.add("AGREGAR: " + id + " en " + alcanceActual);
-        }
+        agregar(identificadores.internar(id).getId(), token);
+    }
+    
+    /**
+     * Agrega un token a la tabla actual usando el id internado del identificador
+     */
+    public void agregar(int id, Token token) {
+        token.setId(contadorTokens++);
+        token.setAlcance(alcanceActual);
+        tablaActual.agregar(id, token);
+        if (historial.activo()) historial.registrar(EventoTabla.agregar(identificadores.obtener(id), alcanceActual));
     }
     
     /**
      * Busca un token en el alcance actual y padres
      */
     public Token buscar(String id) {
-        // Busca en el alcance actual hacia arriba en la pila
-        Stack<String> pila_temp = (Stack<String>) pilaAlcances.clone();
-        while (!pila_temp.isEmpty()) {
-            String alcance = pila_temp.pop();
-            Table tabla = tablas.get(alcance);
-            if (tabla != null) {
-                Token token = tabla.buscar(id);
-                if (token != null) {
-                    return token;
-                }
+        int n = identificadores.obtenerId(id);
+        return n >= 0 ? buscar(n) : null;
+    }
+    
+    /**
+     * Busca un token por id internado en el alcance actual y padres
+     */
+    public Token buscar(int id) {
+        // Sube por la cadena de padres desde el alcance actual (sin copiar nada)
+        for (Table tabla = tablaActual; tabla != null; tabla = tabla.padre) {
+            Token token = tabla.simbolos.obtener(id);
+            if (token != null) {
+                return token;
             }
         }
         return null;
     }
     
     /**
-     * Busca solo en el alcance actual
+     * Busca un token por id internado desde el alcance indicado hacia sus padres
      */
-    public Token buscarLocal(String id) {
-        Table tabla = tablas.get(alcanceActual);
-        if (tabla != null) {
-            return tabla.buscar(id);
+    public Token buscarEnAlcance(int alcance, int id) {
+        for (Table tabla = tablas.get(alcance); tabla != null; tabla = tabla.padre) {
+            Token token = tabla.simbolos.obtener(id);
+            if (token != null) {
+                return token;
+            }
         }
         return null;
     }
     
+    /**
+     * Busca un token por nombre desde el alcance indicado hacia sus padres
+     */
+    public Token buscarEnAlcance(int alcance, String id) {
+        int n = identificadores.obtenerId(id);
+        return n >= 0 ? buscarEnAlcance(alcance, n) : null;
+    }
+    
+    /**
+     * Busca solo en el alcance actual
+     */
+    public Token buscarLocal(String id) {
+        return tablaActual.buscar(id);
+    }
+    
     /**
      * Verifica si existe un token en el alcance actual
      */
@@ -180,9 +269,17 @@ public class SymbolTable {
     }
     
     /**
-     * Obtiene la tabla del alcance especificado
+     * Obtiene la tabla del último alcance creado con ese nombre
      */
     public Table obtenerTabla(String alcance) {
+        Integer id = alcancesPorNombre.get(alcance);
+        return id != null ? tablas.get(id) : null;
+    }
+    
+    /**
+     * Obtiene la tabla de un alcance por su id
+     */
+    public Table obtenerTabla(int alcance) {
         return tablas.get(alcance);
     }
     
@@ -190,7 +287,7 @@ public class SymbolTable {
      * Obtiene la tabla actual
      */
     public Table obtenerTablaActual() {
-        return tablas.get(alcanceActual);
+        return tablaActual;
     }
     
     /**
@@ -200,11 +297,36 @@ public class SymbolTable {
         return alcanceActual;
     }
     
+    /**
+     * Obtiene el id del alcance actual
+     */
+    public int obtenerAlcanceActualId() {
+        return tablaActual.id;
+    }
+    
+    /**
+     * Cambia el destino de los eventos (HistorialTabla.NINGUNO lo desactiva)
+     */
+    public void setHistorial(HistorialTabla historial) {
+        this.historial = historial;
+    }
+    
+    public HistorialTabla getHistorial() {
+        return historial;
+    }
+    
+    /**
+     * Tabla de internado de identificadores usada por esta tabla de símbolos
+     */
+    public TablaIdentificadores getIdentificadores() {
+        return identificadores;
+    }
+    
     /**
      * Obtiene todas las tablas
      */
     public Collection<Table> obtenerTodasLasTablas() {
-        return tablas.values();
+        return Collections.unmodifiableList(tablas);
     }
     
     /**
@@ -216,7 +338,7 @@ public class SymbolTable {
         sb.append("                    REPORTE DE TABLAS DE SÍMBOLOS\n");
         sb.append("═══════════════════════════════════════════════════════════\n");
         
-        for (Table tabla : tablas.values()) {
+        for (Table tabla : tablas) {
             sb.append(tabla.toString()).append("\n");
         }
         
@@ -224,8 +346,17 @@ public class SymbolTable {
         sb.append("                    HISTORIAL DE OPERACIONES\n");
         sb.append("═════════════════════════════════════════════════════════════\n");
         
-        for (int i = 0; i < historialOperaciones.size(); i++) {
-            sb.append(String.format("%d. %s\n", i + 1, historialOperaciones.get(i)));
+        if (!historial.activo()) {
+            sb.append("(historial desactivado)\n");
+        } else {
+            List<EventoTabla> eventos = historial.eventos();
+            long primero = historial.totalRegistrados() - eventos.size();
+            if (primero > 0) {
+                sb.append(String.format("(se descartaron las %d operaciones más antiguas)\n", primero));
+            }
+            for (int i = 0; i < eventos.size(); i++) {
+                sb.append(String.format("%d. %s\n", primero + i + 1, eventos.get(i)));
+            }
         }
         
         sb.append("\n═════════════════════════════════════════════════════════════\n");
@@ -245,7 +376,7 @@ public class SymbolTable {
         sb.append("{\n");
         sb.append("  \"tablas_simbolos\": [\n");
         
-        List<Table> listaTablas = new ArrayList<>(tablas.values());
+        List<Table> listaTablas = tablas;
         for (int i = 0; i < listaTablas.size(); i++) {
             Table tabla = listaTablas.get(i);
             sb.append("    {\n");
@@ -254,12 +385,14 @@ public class SymbolTable {
             sb.append("      \"tipo\": \"").append(tabla.tipoAlcance).append("\",\n");
             sb.append("      \"simbolos\": [\n");
             
-            List<Map.Entry<String, Token>> entradas = new ArrayList<>(tabla.simbolos.entrySet());
-            for (int j = 0; j < entradas.size(); j++) {
-                Map.Entry<String, Token> entry = entradas.get(j);
-                Token token = entry.getValue();
+            MapaSimbolos simbolos = tabla.simbolos;
+            int restantes = simbolos.tamano();
+            for (int p = 0; p < simbolos.usados(); p++) {
+                if (simbolos.idEn(p) < 0) continue;
+                Token token = simbolos.tokenEn(p);
+                restantes--;
                 sb.append("        {\n");
-                sb.append("          \"id\": \"").append(entry.getKey()).append("\",\n");
+                sb.append("          \"id\": \"").append(identificadores.nombre(simbolos.idEn(p))).append("\",\n");
                 sb.append("          \"tipo_token\": \"").append(token.getTipo()).append("\",\n");
                 sb.append("          \"lexema\": \"").append(token.getLexema()).append("\",\n");
                 sb.append("          \"valor\": \"").append(token.getValor()).append("\",\n");
@@ -269,7 +402,7 @@ public class SymbolTable {
                 sb.append("          \"es_arreglo\": ").append(token.esArreglo()).append(",\n");
                 sb.append("          \"inicializado\": ").append(token.estaInicializado()).append("\n");
                 sb.append("        }");
-                if (j < entradas.size() - 1) sb.append(",");
+                if (restantes > 0) sb.append(",");
                 sb.append("\n");
             }
             
@@ -292,13 +425,11 @@ public class SymbolTable {
      */
     public void limpiar() {
         tablas.clear();
+        alcancesPorNombre.clear();
         alcanceActual = "GLOBAL";
-        pilaAlcances.clear();
         contadorTokens = 0;
-        historialOperaciones.clear();
+        historial.limpiar();
         
-        Table tablaGlobal = new Table("GLOBAL", 0, "GLOBAL");
-        tablas.put("GLOBAL", tablaGlobal);
-        pilaAlcances.push("GLOBAL");
+        crearTablaGlobal();
     }
 }
@@ -0,0 +1,120 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de internado de identificadores de una compilación.
+ * Asigna a cada nombre distinto un id denso y devuelve siempre el mismo
+ * Identificador (y el mismo String) para el mismo nombre.
+ * Usa direccionamiento abierto con sondeo lineal; el lexer puede internar
+ * directamente desde su buffer de caracteres, de modo que el String del
+ * nombre solo se crea la primera vez que aparece.
+ */
+public class TablaIdentificadores {
+    private static final int CAPACIDAD_INICIAL = 64;    // Potencia de 2
+
+    private int[] ranuras;                   // id + 1 de cada ranura (0 = vacía)
+    private int[] hashes;                    // hash del nombre de cada id
+    private Identificador[] porId;           // Identificadores en orden de id
+    private int cantidad;                    // Cantidad de ids asignados
+
+    public TablaIdentificadores() {
+        this.ranuras = new int[CAPACIDAD_INICIAL];
+        this.hashes = new int[CAPACIDAD_INICIAL];
+        this.porId = new Identificador[CAPACIDAD_INICIAL];
+        this.cantidad = 0;
+    }
+
+    /**
+     * Interna el nombre formado por buffer[inicio .. inicio+largo).
+     */
+    public Identificador internar(char[] buffer, int inicio, int largo) {
+        // Mismo hash que String.hashCode() para que ambas variantes coincidan
+        int hash = 0;
+        for (int i = 0; i < largo; i++) {
+            hash = 31 * hash + buffer[inicio + i];
+        }
+        int mascara = ranuras.length - 1;
+        for (int r = mezclar(hash) & mascara; ; r = (r + 1) & mascara) {
+            int id = ranuras[r] - 1;
+            if (id < 0) {
+                return agregar(r, hash, new String(buffer, inicio, largo));
+            }
+            if (hashes[id] == hash && iguales(porId[id].getNombre(), buffer, inicio, largo)) {
+                return porId[id];
+            }
+        }
+    }
+
+    /**
+     * Interna un nombre dado como String.
+     */
+    public Identificador internar(String nombre) {
+        int hash = nombre.hashCode();
+        int r = buscarRanura(nombre, hash);
+        int id = ranuras[r] - 1;
+        return id >= 0 ? porId[id] : agregar(r, hash, nombre);
+    }
+
+    /**
+     * Id del nombre, o -1 si nunca se internó.
+     */
+    public int obtenerId(String nombre) {
+        return ranuras[buscarRanura(nombre, nombre.hashCode())] - 1;
+    }
+
+    public Identificador obtener(int id) { return porId[id]; }
+    public String nombre(int id) { return porId[id].getNombre(); }
+    public int cantidad() { return cantidad; }
+
+    // Ranura que contiene el nombre o la ranura vacía donde debería ir
+    private int buscarRanura(String nombre, int hash) {
+        int mascara = ranuras.length - 1;
+        for (int r = mezclar(hash) & mascara; ; r = (r + 1) & mascara) {
+            int id = ranuras[r] - 1;
+            if (id < 0 || (hashes[id] == hash && porId[id].getNombre().equals(nombre))) {
+                return r;
+            }
+        }
+    }
+
+    private Identificador agregar(int ranura, int hash, String nombre) {
+        if (cantidad == porId.length) {
+            porId = Arrays.copyOf(porId, cantidad * 2);
+            hashes = Arrays.copyOf(hashes, cantidad * 2);
+        }
+        Identificador ident = new Identificador(cantidad, nombre);
+        porId[cantidad] = ident;
+        hashes[cantidad] = hash;
+        ranuras[ranura] = cantidad + 1;
+        cantidad++;
+        // Mantener la ocupación por debajo de 3/4
+        if (cantidad * 4 > ranuras.length * 3) {
+            redimensionar();
+        }
+        return ident;
+    }
+
+    private void redimensionar() {
+        ranuras = new int[ranuras.length * 2];
+        int mascara = ranuras.length - 1;
+        for (int id = 0; id < cantidad; id++) {
+            int r = mezclar(hashes[id]) & mascara;
+            while (ranuras[r] != 0) r = (r + 1) & mascara;
+            ranuras[r] = id + 1;
+        }
+    }
+
+    // Dispersa los bits altos del hash sobre los bajos (como HashMap)
+    static int mezclar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean iguales(String nombre, char[] buffer, int inicio, int largo) {
+        if (nombre.length() != largo) return false;
+        for (int i = 0; i < largo; i++) {
+            if (nombre.charAt(i) != buffer[inicio + i]) return false;
+        }
+        return true;
+    }
+}